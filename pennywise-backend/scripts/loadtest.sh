@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# Seeds a local database with synthetic users, starts the API against it and drives it with the load
+# harness. Runs offline on one machine; results land in target/loadtest-result.json.
+#
+#   scripts/loadtest.sh                                  # H2 in PostgreSQL mode, read-only "browse" mix
+#   SEED_USERS=1000 VUS=100 DURATION=300 scripts/loadtest.sh
+#   DB_URL='jdbc:postgresql://localhost:5432/pennywise?reWriteBatchedInserts=true' DB_USER=postgres \
+#       DB_PASSWORD=... MIX=active \
+#       scripts/loadtest.sh                              # local Postgres, mix with writes
+#
+# The H2 file database is reused until "mvn clean"; seeding is skipped when the users already exist, so
+# change SEED_USERS or SEED only after a clean (or against a fresh Postgres schema).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+SEED_USERS=${SEED_USERS:-100}
+SEED_YEARS=${SEED_YEARS:-3}
+SEED=${SEED:-42}
+VUS=${VUS:-20}
+DURATION=${DURATION:-60}
+WARMUP=${WARMUP:-15}
+MIX=${MIX:-browse}
+THINK_MS=${THINK_MS:-0}
+PORT=${PORT:-8080}
+STARTUP_TIMEOUT=${STARTUP_TIMEOUT:-600}
+
+if [[ "$MIX" == active && -z "${DB_URL:-}" ]]; then
+    echo "MIX=active writes transactions, whose aggregate upserts need Postgres; set DB_URL" >&2
+    exit 2
+fi
+
+export JWT_SECRET=${JWT_SECRET:-$(head -c 64 /dev/urandom | base64 | tr -d '\n=+/')}
+export OPENAI_API_KEY=${OPENAI_API_KEY:-unused}
+
+app_args=(--server.port="$PORT" --app.seed.users="$SEED_USERS" --app.seed.years="$SEED_YEARS"
+    --app.seed.seed="$SEED")
+if [[ -n "${DB_URL:-}" ]]; then
+    app_args+=(--spring.profiles.active=seed,loadtest --spring.datasource.url="$DB_URL"
+        --spring.datasource.username="${DB_USER:-postgres}" --spring.datasource.password="${DB_PASSWORD:-}")
+else
+    app_args+=(--spring.profiles.active=h2,seed,loadtest)
+fi
+
+mvn -B -q -DskipTests package
+# The harness run below repackages the jar, so the server runs from a copy.
+cp target/pennywise-backend-*.jar target/loadtest-app.jar
+
+java -jar target/loadtest-app.jar "${app_args[@]}" > target/loadtest-app.log 2>&1 &
+app_pid=$!
+trap 'kill "$app_pid" 2>/dev/null || true; wait "$app_pid" 2>/dev/null || true' EXIT
+
+echo "Starting API on port $PORT (seeding $SEED_USERS users on first run; log in target/loadtest-app.log)"
+deadline=$((SECONDS + STARTUP_TIMEOUT))
+until curl -fs "http://localhost:$PORT/actuator/health" > /dev/null; do
+    if ! kill -0 "$app_pid" 2>/dev/null || ((SECONDS > deadline)); then
+        echo "API did not come up; last log lines:" >&2
+        tail -n 40 target/loadtest-app.log >&2
+        exit 1
+    fi
+    sleep 2
+done
+
+mvn -B -q -Ploadtest -DskipTests verify -Dloadtest.args="--base-url http://localhost:$PORT --users $VUS \
+--accounts $SEED_USERS --mix $MIX --duration $DURATION --warmup $WARMUP --think-ms $THINK_MS --seed $SEED"
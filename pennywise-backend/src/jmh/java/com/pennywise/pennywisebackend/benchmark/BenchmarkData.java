@@ -0,0 +1,115 @@
+package com.pennywise.pennywisebackend.benchmark;
+
+import com.pennywise.pennywisebackend.model.Budget;
+import com.pennywise.pennywisebackend.model.Transaction;
+import com.pennywise.pennywisebackend.model.User;
+import com.pennywise.pennywisebackend.security.UserPrincipal;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+// Fixed-seed data ending today, plus in-memory repository stubs.
+final class BenchmarkData {
+
+    static final Long USER_ID = 1L;
+    static final String[] CATEGORIES = { "Groceries", "Rent", "Utilities", "Dining", "Transport", "Entertainment",
+            "Health", "Shopping", "Travel", "Subscriptions" };
+
+    private BenchmarkData() {
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(USER_ID);
+        user.setUsername("bench");
+        user.setEmail("bench@example.com");
+        return user;
+    }
+
+    static UserPrincipal principal() {
+        return new UserPrincipal(USER_ID, "bench", "bench@example.com", "");
+    }
+
+    // Global rather than thread-local, since JMH may run setup and measurement on different threads.
+    static void authenticate() {
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        UserPrincipal principal = principal();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    // Roughly one income per 7 transactions, spread uniformly over the given number of months; sorted by date.
+    static List<Transaction> transactions(int count, int months, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        User user = user();
+        LocalDate today = LocalDate.now();
+        LocalDate first = today.withDayOfMonth(1).minusMonths(months - 1);
+        int days = (int) (today.toEpochDay() - first.toEpochDay()) + 1;
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate date = first.plusDays(random.nextInt(days));
+            boolean income = random.nextInt(7) == 0;
+            BigDecimal amount = BigDecimal.valueOf(random.nextLong(100, income ? 500_000 : 50_000), 2);
+            transactions.add(new Transaction((long) i + 1, date, income ? "Salary" : "Card payment",
+                    income ? "Income" : CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    income ? amount : amount.negate(), income ? "income" : "expense", user));
+        }
+        transactions.sort(Comparator.comparing(Transaction::getDate));
+        return transactions;
+    }
+
+    static List<Budget> budgets(LocalDate month) {
+        User user = user();
+        List<Budget> budgets = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            budgets.add(new Budget((long) i + 1, CATEGORIES[i], BigDecimal.valueOf(200 + 50L * i), month, user));
+        }
+        return budgets;
+    }
+
+    // Returns the slice of a date-sorted list within [from, to], like an indexed range scan would.
+    static List<Transaction> between(List<Transaction> sorted, LocalDate from, LocalDate to) {
+        return sorted.subList(lowerBound(sorted, from), lowerBound(sorted, to.plusDays(1)));
+    }
+
+    private static int lowerBound(List<Transaction> sorted, LocalDate date) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted.get(mid).getDate().isBefore(date)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Unstubbed methods throw, so a benchmark cannot silently measure them.
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> repository, Map<String, Function<Object[], Object>> handlers) {
+        return (T) Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[] { repository },
+                (proxy, method, args) -> {
+                    Function<Object[], Object> handler = handlers.get(method.getName());
+                    if (handler != null) {
+                        return handler.apply(args);
+                    }
+                    return switch (method.getName()) {
+                        case "toString" -> repository.getSimpleName() + " stub";
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> throw new UnsupportedOperationException(method.getName() + " is not stubbed");
+                    };
+                });
+    }
+}
@@ -0,0 +1,99 @@
+package com.pennywise.pennywisebackend.benchmark;
+
+import com.pennywise.pennywisebackend.dto.BudgetDTO;
+import com.pennywise.pennywisebackend.model.Budget;
+import com.pennywise.pennywisebackend.model.DailySpend;
+import com.pennywise.pennywisebackend.model.Transaction;
+import com.pennywise.pennywisebackend.repository.BudgetRepository;
+import com.pennywise.pennywisebackend.repository.DailySpendRepository;
+import com.pennywise.pennywisebackend.repository.TransactionRepository;
+import com.pennywise.pennywisebackend.repository.UserRepository;
+import com.pennywise.pennywisebackend.security.CurrentUser;
+import com.pennywise.pennywisebackend.service.BudgetForecastService;
+import com.pennywise.pennywisebackend.service.BudgetService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+// Row mapping for GET /api/budgets?month=, optionally with the month-end forecast over daily_spend rows.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BudgetListingBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int transactions;
+
+    private BudgetService budgetService;
+    private LocalDate month;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        month = LocalDate.now().withDayOfMonth(1);
+        List<Transaction> history = BenchmarkData.transactions(transactions, 36, 7);
+
+        Map<String, BigDecimal> spentByCategory = new TreeMap<>();
+        Map<String, Map<LocalDate, BigDecimal>> spentByCategoryAndDay = new TreeMap<>();
+        for (Transaction t : history) {
+            if (!"expense".equals(t.getType()) || t.getDate().getMonthValue() != month.getMonthValue()) {
+                continue;
+            }
+            BigDecimal amount = t.getAmount().abs();
+            if (!t.getDate().isBefore(month)) {
+                spentByCategory.merge(t.getCategory(), amount, BigDecimal::add);
+            }
+            spentByCategoryAndDay.computeIfAbsent(t.getCategory(), c -> new TreeMap<>())
+                    .merge(t.getDate(), amount, BigDecimal::add);
+        }
+        List<DailySpend> dailyRows = new ArrayList<>();
+        spentByCategoryAndDay.forEach((category, days) -> days.forEach((day, amount) ->
+                dailyRows.add(new DailySpend(null, category, day, amount, BenchmarkData.user()))));
+        List<Object[]> rows = new ArrayList<>();
+        for (Budget budget : BenchmarkData.budgets(month)) {
+            rows.add(new Object[] { budget.getId(), budget.getCategory(), budget.getBudgetAmount(),
+                    spentByCategory.getOrDefault(budget.getCategory(), BigDecimal.ZERO), Date.valueOf(month) });
+        }
+
+        BudgetRepository budgetRepository = BenchmarkData.stub(BudgetRepository.class, Map.of(
+                "findWithSpentByUserIdAndMonth", args -> rows));
+        DailySpendRepository dailySpendRepository = BenchmarkData.stub(DailySpendRepository.class, Map.of(
+                "findInMonths", args -> dailyRows));
+        TransactionRepository transactionRepository = BenchmarkData.stub(TransactionRepository.class, Map.of());
+        UserRepository userRepository = BenchmarkData.stub(UserRepository.class, Map.of());
+
+        budgetService = new BudgetService(budgetRepository, transactionRepository, new CurrentUser(userRepository),
+                new BudgetForecastService(dailySpendRepository));
+        BenchmarkData.authenticate();
+    }
+
+    @Benchmark
+    public List<BudgetDTO> listMonth() {
+        return budgetService.getBudgetsByMonth(month, false);
+    }
+
+    @Benchmark
+    public List<BudgetDTO> listMonthWithForecast() {
+        return budgetService.getBudgetsByMonth(month, true);
+    }
+}
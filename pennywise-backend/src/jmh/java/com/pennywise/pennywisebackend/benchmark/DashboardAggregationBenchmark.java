@@ -0,0 +1,93 @@
+package com.pennywise.pennywisebackend.benchmark;
+
+import com.pennywise.pennywisebackend.dto.DashboardSummaryDTO;
+import com.pennywise.pennywisebackend.dto.ExpenseBreakdownDTO;
+import com.pennywise.pennywisebackend.dto.MonthlyOverviewDTO;
+import com.pennywise.pennywisebackend.dto.MonthlyTrendDTO;
+import com.pennywise.pennywisebackend.model.Transaction;
+import com.pennywise.pennywisebackend.repository.TransactionRepository;
+import com.pennywise.pennywisebackend.repository.UserRepository;
+import com.pennywise.pennywisebackend.security.CurrentUser;
+import com.pennywise.pennywisebackend.service.AiQuotaService;
+import com.pennywise.pennywisebackend.service.DashboardService;
+import com.pennywise.pennywisebackend.service.DataReadinessService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Repositories return in-memory slices, so this measures the stream reductions and DTO assembly only.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DashboardAggregationBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int transactions;
+
+    private DashboardService dashboardService;
+    private LocalDate today;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Transaction> all = BenchmarkData.transactions(transactions, 24, 42);
+        List<Transaction> expenses = all.stream().filter(t -> "expense".equals(t.getType())).toList();
+
+        TransactionRepository transactionRepository = BenchmarkData.stub(TransactionRepository.class, Map.of(
+                "findByUserIdAndDateBetween",
+                args -> BenchmarkData.between(all, (LocalDate) args[1], (LocalDate) args[2]),
+                "findByUserIdAndTypeAndDateBetween",
+                args -> BenchmarkData.between("expense".equals(args[1]) ? expenses : List.of(),
+                        (LocalDate) args[2], (LocalDate) args[3]),
+                "existsByUserIdAndType", args -> true));
+        UserRepository userRepository = BenchmarkData.stub(UserRepository.class, Map.of(
+                "findAiAdviceUsedInPeriod", args -> Optional.of(1)));
+
+        AiQuotaService aiQuotaService = new AiQuotaService(userRepository);
+        ReflectionTestUtils.setField(aiQuotaService, "limit", 3);
+        ReflectionTestUtils.setField(aiQuotaService, "period", AiQuotaService.Period.NONE);
+
+        dashboardService = new DashboardService(transactionRepository, new CurrentUser(userRepository),
+                new DataReadinessService(transactionRepository), aiQuotaService);
+        today = LocalDate.now();
+        BenchmarkData.authenticate();
+    }
+
+    @Benchmark
+    public DashboardSummaryDTO summary() {
+        return dashboardService.getDashboardSummary(today);
+    }
+
+    @Benchmark
+    public List<ExpenseBreakdownDTO> expenseBreakdown() {
+        return dashboardService.getExpenseBreakdown(today.withDayOfMonth(1).minusMonths(2), today);
+    }
+
+    @Benchmark
+    public List<MonthlyTrendDTO> spendingTrends() {
+        return dashboardService.getSpendingTrends(12);
+    }
+
+    @Benchmark
+    public MonthlyOverviewDTO currentMonthOverview() {
+        return dashboardService.getCurrentMonthOverview();
+    }
+}
@@ -0,0 +1,68 @@
+package com.pennywise.pennywisebackend.benchmark;
+
+import com.pennywise.pennywisebackend.security.UserPrincipal;
+import com.pennywise.pennywisebackend.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// validateUncached has the verified-token cache disabled, so it pays for the full signature check.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private JwtUtil jwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private UserPrincipal principal;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = jwtUtil(10_000);
+        uncachedJwtUtil = jwtUtil(0);
+        principal = BenchmarkData.principal();
+        token = jwtUtil.generateTokenForPrincipal(principal);
+    }
+
+    private static JwtUtil jwtUtil(int verifiedCacheSize) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(util, "jwtExpirationMs", 900_000);
+        ReflectionTestUtils.setField(util, "refreshExpirationMs", 604_800_000L);
+        ReflectionTestUtils.setField(util, "verifiedCacheSize", verifiedCacheSize);
+        util.init();
+        return util;
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateTokenForPrincipal(principal);
+    }
+
+    @Benchmark
+    public UserPrincipal validate() {
+        return jwtUtil.getPrincipalFromJwtToken(token);
+    }
+
+    @Benchmark
+    public UserPrincipal validateUncached() {
+        return uncachedJwtUtil.getPrincipalFromJwtToken(token);
+    }
+}
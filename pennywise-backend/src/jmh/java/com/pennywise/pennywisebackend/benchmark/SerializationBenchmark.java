@@ -0,0 +1,78 @@
+package com.pennywise.pennywisebackend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.pennywise.pennywisebackend.dto.BudgetDTO;
+import com.pennywise.pennywisebackend.dto.MonthlyTrendDTO;
+import com.pennywise.pennywisebackend.model.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The mapper is built the way Spring Boot builds the controllers' one.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int size;
+
+    private ObjectWriter writer;
+    private List<Transaction> transactions;
+    private List<BudgetDTO> budgets;
+    private List<MonthlyTrendDTO> trends;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+        transactions = BenchmarkData.transactions(size, 12, 11);
+
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        budgets = new ArrayList<>(size);
+        trends = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String category = BenchmarkData.CATEGORIES[i % BenchmarkData.CATEGORIES.length];
+            budgets.add(new BudgetDTO((long) i, category, BigDecimal.valueOf(500), BigDecimal.valueOf(i % 700, 1),
+                    month.minusMonths(i / BenchmarkData.CATEGORIES.length)));
+            trends.add(new MonthlyTrendDTO(month.minusMonths(i).getMonth().name().substring(0, 3),
+                    BigDecimal.valueOf(420_000 + i, 2), BigDecimal.valueOf(310_000 + i, 2)));
+        }
+    }
+
+    @Benchmark
+    public byte[] transactions() throws JsonProcessingException {
+        return writer.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public byte[] budgets() throws JsonProcessingException {
+        return writer.writeValueAsBytes(budgets);
+    }
+
+    @Benchmark
+    public byte[] trends() throws JsonProcessingException {
+        return writer.writeValueAsBytes(trends);
+    }
+}
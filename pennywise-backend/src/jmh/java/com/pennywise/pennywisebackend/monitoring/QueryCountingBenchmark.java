@@ -0,0 +1,75 @@
+package com.pennywise.pennywisebackend.monitoring;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+// raw is the unwrapped pool (app.sql.enabled=false); counted is the wrapped one inside a request scope.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryCountingBenchmark {
+
+    private static final String QUERY = "SELECT x, x * 2 FROM SYSTEM_RANGE(1, 50)";
+
+    private SingleConnectionDataSource pool;
+    private DataSource counting;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new SingleConnectionDataSource("jdbc:h2:mem:query-counting", "sa", "", true);
+        counting = new QueryCountingDataSource(pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.destroy();
+    }
+
+    @Benchmark
+    public long raw() throws SQLException {
+        return run(pool);
+    }
+
+    @Benchmark
+    public long counted() throws SQLException {
+        QueryStats.begin();
+        try {
+            return run(counting);
+        } finally {
+            QueryStats.end();
+        }
+    }
+
+    private static long run(DataSource dataSource) throws SQLException {
+        long sum = 0;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(QUERY);
+             ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                sum += rows.getLong(2);
+            }
+        }
+        return sum;
+    }
+}
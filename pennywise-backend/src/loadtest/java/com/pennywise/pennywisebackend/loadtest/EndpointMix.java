@@ -0,0 +1,116 @@
+package com.pennywise.pennywisebackend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+
+// A mix is a preset name or a list such as summary=50,budgets=30,addTransaction=20.
+public final class EndpointMix {
+
+    private static final String[] EXPENSE_CATEGORIES = { "Food", "Transportation", "Entertainment", "Shopping" };
+
+    private static final Map<String, BiFunction<String, SplittableRandom, HttpRequest.Builder>> ENDPOINTS =
+            new LinkedHashMap<>();
+
+    static {
+        ENDPOINTS.put("summary", (base, random) -> get(base, "/api/dashboard/summary"));
+        ENDPOINTS.put("overview", (base, random) -> get(base, "/api/dashboard/current-month-overview"));
+        ENDPOINTS.put("breakdown", (base, random) -> get(base, "/api/dashboard/expense-breakdown?month="
+                + YearMonth.now().minusMonths(random.nextInt(12))));
+        ENDPOINTS.put("trends", (base, random) -> get(base, "/api/dashboard/spending-trends?months=6"));
+        ENDPOINTS.put("forecast", (base, random) -> get(base, "/api/dashboard/spending-forecast?months=6"));
+        ENDPOINTS.put("transactions", (base, random) -> get(base, "/api/transactions"));
+        ENDPOINTS.put("transactionsMonth", (base, random) -> {
+            YearMonth month = YearMonth.now().minusMonths(random.nextInt(12));
+            return get(base, "/api/transactions?startDate=" + month.atDay(1) + "&endDate=" + month.atEndOfMonth());
+        });
+        ENDPOINTS.put("budgets", (base, random) -> get(base, "/api/budgets?month=" + YearMonth.now()));
+        ENDPOINTS.put("goals", (base, random) -> get(base, "/api/goals"));
+        ENDPOINTS.put("categories", (base, random) -> get(base, "/api/categories"));
+        ENDPOINTS.put("notifications", (base, random) -> get(base, "/api/notifications"));
+        ENDPOINTS.put("addTransaction", (base, random) -> {
+            String category = EXPENSE_CATEGORIES[random.nextInt(EXPENSE_CATEGORIES.length)];
+            String body = String.format("""
+                    {"date":"%s","description":"Load test %s","category":"%s","amount":%d.%02d,"type":"expense"}\
+                    """, LocalDate.now(), category, category, 1 + random.nextInt(80), random.nextInt(100));
+            return HttpRequest.newBuilder(URI.create(base + "/api/transactions"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        });
+    }
+
+    // Read-only mixes run against H2; the write mix needs Postgres for the ON CONFLICT aggregate upserts.
+    private static final Map<String, String> PRESETS = Map.of(
+            "browse", "summary=20,overview=15,breakdown=15,trends=10,transactions=15,budgets=10,goals=8,"
+                    + "categories=4,notifications=3",
+            "dashboard", "summary=25,overview=25,breakdown=20,trends=20,forecast=10",
+            "active", "summary=15,overview=10,breakdown=10,trends=8,forecast=5,transactions=12,transactionsMonth=5,"
+                    + "budgets=10,goals=8,categories=2,notifications=5,addTransaction=10");
+
+    private final List<String> names = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+    private final String definition;
+
+    private EndpointMix(String definition, Map<String, Integer> weights) {
+        this.definition = definition;
+        this.cumulativeWeights = new int[weights.size()];
+        int total = 0;
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            total += entry.getValue();
+            names.add(entry.getKey());
+            cumulativeWeights[i++] = total;
+        }
+        this.totalWeight = total;
+    }
+
+    public static EndpointMix parse(String spec) {
+        String definition = PRESETS.getOrDefault(spec, spec);
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : definition.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2 || !ENDPOINTS.containsKey(pair[0].trim())) {
+                throw new IllegalArgumentException("Unknown mix entry '" + part + "'; presets are " + PRESETS.keySet()
+                        + ", endpoints are " + ENDPOINTS.keySet());
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(pair[0].trim(), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix '" + spec + "' has no endpoints with a positive weight");
+        }
+        return new EndpointMix(definition, weights);
+    }
+
+    public String pick(SplittableRandom random) {
+        int draw = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return names.get(i);
+            }
+        }
+        return names.get(names.size() - 1);
+    }
+
+    public HttpRequest.Builder request(String endpoint, String baseUrl, SplittableRandom random) {
+        return ENDPOINTS.get(endpoint).apply(baseUrl, random);
+    }
+
+    public String getDefinition() {
+        return definition;
+    }
+
+    private static HttpRequest.Builder get(String baseUrl, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+}
@@ -0,0 +1,92 @@
+package com.pennywise.pennywisebackend.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// One instance per virtual user, merged after the run; raw samples keep the percentiles exact.
+public final class LatencyStats {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+    private final Map<Integer, Long> statuses = new TreeMap<>();
+
+    public void record(long nanos, int status) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        statuses.merge(status, 1L, Long::sum);
+        if (status >= 400) {
+            errors++;
+        }
+    }
+
+    // Requests that never got a response (connection refused, timeout) count as errors without a latency.
+    public void recordFailure() {
+        errors++;
+        statuses.merge(0, 1L, Long::sum);
+    }
+
+    public void merge(LatencyStats other) {
+        if (count + other.count > samples.length) {
+            samples = Arrays.copyOf(samples, count + other.count);
+        }
+        System.arraycopy(other.samples, 0, samples, count, other.count);
+        count += other.count;
+        errors += other.errors;
+        other.statuses.forEach((status, n) -> statuses.merge(status, n, Long::sum));
+    }
+
+    public long requests() {
+        return count + statuses.getOrDefault(0, 0L);
+    }
+
+    public long errors() {
+        return errors;
+    }
+
+    public Map<Integer, Long> statuses() {
+        return statuses;
+    }
+
+    // Nearest-rank percentile in milliseconds; sorts the samples in place.
+    public double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        Arrays.sort(samples, 0, count);
+        int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return samples[Math.max(0, Math.min(count, rank) - 1)] / 1_000_000.0;
+    }
+
+    public double meanMillis() {
+        if (count == 0) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += samples[i];
+        }
+        return total / (double) count / 1_000_000.0;
+    }
+
+    public Map<String, Object> summary(double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", requests());
+        summary.put("errors", errors);
+        summary.put("throughput", seconds > 0 ? requests() / seconds : 0);
+        summary.put("meanMs", meanMillis());
+        summary.put("p50Ms", percentileMillis(50));
+        summary.put("p90Ms", percentileMillis(90));
+        summary.put("p99Ms", percentileMillis(99));
+        summary.put("p999Ms", percentileMillis(99.9));
+        summary.put("maxMs", percentileMillis(100));
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        statuses.forEach((status, n) -> byStatus.put(status == 0 ? "no-response" : status.toString(), n));
+        summary.put("statuses", byStatus);
+        return summary;
+    }
+}
@@ -0,0 +1,250 @@
+package com.pennywise.pennywisebackend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+
+// Closed-loop: a stalled server also slows the request rate, so tails understate what an open-loop client sees.
+// Requests started in the measured window are kept even if they finish after it.
+public final class LoadHarness {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("base-url", "http://localhost:8080");
+        DEFAULTS.put("users", "20");
+        DEFAULTS.put("accounts", "100");
+        DEFAULTS.put("password", "loadtest123");
+        DEFAULTS.put("mix", "browse");
+        DEFAULTS.put("duration", "60");
+        DEFAULTS.put("warmup", "10");
+        DEFAULTS.put("think-ms", "0");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("timeout-ms", "30000");
+        DEFAULTS.put("out", "target/loadtest-result.json");
+    }
+
+    private final Map<String, String> options;
+    private final EndpointMix mix;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Duration timeout;
+    // Published to the virtual users through the start latch.
+    private long measureFrom;
+    private long stopAt;
+
+    private LoadHarness(Map<String, String> options) {
+        this.options = options;
+        this.mix = EndpointMix.parse(options.get("mix"));
+        this.timeout = Duration.ofMillis(Long.parseLong(options.get("timeout-ms")));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for (int i = 0; i < args.length; i++) {
+            String key = args[i].startsWith("--") ? args[i].substring(2) : args[i];
+            if (!DEFAULTS.containsKey(key) || i + 1 >= args.length) {
+                System.err.println("Unknown or incomplete option '" + args[i] + "'. Options and defaults: "
+                        + DEFAULTS);
+                System.exit(2);
+            }
+            options.put(key, args[++i]);
+        }
+        System.exit(new LoadHarness(options).run());
+    }
+
+    private int run() throws Exception {
+        int users = Integer.parseInt(options.get("users"));
+        int accounts = Integer.parseInt(options.get("accounts"));
+        long seed = Long.parseLong(options.get("seed"));
+        long warmupNanos = Duration.ofSeconds(Long.parseLong(options.get("warmup"))).toNanos();
+        long durationNanos = Duration.ofSeconds(Long.parseLong(options.get("duration"))).toNanos();
+
+        System.out.printf("Driving %s with %d users over %d accounts, mix %s%n", options.get("base-url"), users,
+                accounts, mix.getDefinition());
+        List<VirtualUser> virtualUsers = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            virtualUsers.add(new VirtualUser("loadtest-user-" + (i % accounts) + "@example.com",
+                    new SplittableRandom(seed * 1_000_003L + i)));
+        }
+
+        // Log everyone in before the clock starts so bcrypt on the login path does not skew the warmup.
+        CountDownLatch loggedIn = new CountDownLatch(users);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(users);
+        for (VirtualUser user : virtualUsers) {
+            Thread thread = new Thread(() -> {
+                try {
+                    user.login();
+                } catch (Exception e) {
+                    user.failure = e;
+                } finally {
+                    loggedIn.countDown();
+                }
+                try {
+                    go.await();
+                    if (user.failure == null) {
+                        user.loop();
+                    }
+                } catch (Exception e) {
+                    user.failure = e;
+                }
+            }, "vu-" + threads.size());
+            threads.add(thread);
+            thread.start();
+        }
+        loggedIn.await();
+        measureFrom = System.nanoTime() + warmupNanos;
+        stopAt = measureFrom + durationNanos;
+        go.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long failedUsers = virtualUsers.stream().filter(u -> u.failure != null).count();
+        if (failedUsers > 0) {
+            Exception first = virtualUsers.stream().filter(u -> u.failure != null).findFirst().get().failure;
+            System.err.printf("%d of %d virtual users failed; first error: %s%n", failedUsers, users, first);
+            if (failedUsers == users) {
+                return 1;
+            }
+        }
+        report(virtualUsers, durationNanos / 1e9);
+        return 0;
+    }
+
+    private void report(List<VirtualUser> virtualUsers, double seconds) throws IOException {
+        Map<String, LatencyStats> byEndpoint = new TreeMap<>();
+        LatencyStats total = new LatencyStats();
+        for (VirtualUser user : virtualUsers) {
+            user.stats.forEach((endpoint, stats) -> {
+                byEndpoint.computeIfAbsent(endpoint, e -> new LatencyStats()).merge(stats);
+                if (!"login".equals(endpoint)) {
+                    total.merge(stats);
+                }
+            });
+        }
+
+        System.out.printf("%n%-18s %9s %7s %9s %8s %8s %8s %8s %8s %8s%n", "endpoint", "requests", "errors",
+                "req/s", "mean", "p50", "p90", "p99", "p99.9", "max");
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        byEndpoint.forEach((endpoint, stats) -> {
+            printRow(endpoint, stats, seconds);
+            endpoints.put(endpoint, stats.summary(seconds));
+        });
+        printRow("TOTAL", total, seconds);
+        System.out.println("(latencies in ms; login is excluded from the total)");
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("timestamp", Instant.now().toString());
+        result.put("options", options);
+        result.put("mixDefinition", mix.getDefinition());
+        result.put("measuredSeconds", seconds);
+        result.put("total", total.summary(seconds));
+        result.put("endpoints", endpoints);
+        File out = new File(options.get("out"));
+        if (out.getParentFile() != null) {
+            out.getParentFile().mkdirs();
+        }
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(out, result);
+        System.out.println("Wrote " + out.getPath());
+    }
+
+    private static void printRow(String endpoint, LatencyStats stats, double seconds) {
+        System.out.printf("%-18s %9d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f %8.2f%n", endpoint, stats.requests(),
+                stats.errors(), stats.requests() / seconds, stats.meanMillis(), stats.percentileMillis(50),
+                stats.percentileMillis(90), stats.percentileMillis(99), stats.percentileMillis(99.9),
+                stats.percentileMillis(100));
+    }
+
+    private final class VirtualUser {
+        private final String email;
+        private final SplittableRandom random;
+        private final Map<String, LatencyStats> stats = new HashMap<>();
+        private final double thinkMillis = Double.parseDouble(options.get("think-ms"));
+        private String token;
+        private volatile Exception failure;
+
+        VirtualUser(String email, SplittableRandom random) {
+            this.email = email;
+            this.random = random;
+        }
+
+        void login() throws IOException, InterruptedException {
+            String body = objectMapper.writeValueAsString(Map.of("username", email,
+                    "password", options.get("password")));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(options.get("base-url") + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .timeout(timeout)
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            long start = System.nanoTime();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            stats.computeIfAbsent("login", e -> new LatencyStats()).record(System.nanoTime() - start,
+                    response.statusCode());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login as " + email + " failed with HTTP " + response.statusCode()
+                        + "; was the database seeded with the 'seed' profile?");
+            }
+            JsonNode json = objectMapper.readTree(response.body());
+            token = json.path("accessToken").asText();
+        }
+
+        void loop() throws IOException, InterruptedException {
+            String baseUrl = options.get("base-url");
+            while (true) {
+                String endpoint = mix.pick(random);
+                HttpRequest request = mix.request(endpoint, baseUrl, random)
+                        .header("Authorization", "Bearer " + token)
+                        .timeout(timeout)
+                        .build();
+                long start = System.nanoTime();
+                if (start >= stopAt) {
+                    return;
+                }
+                int status;
+                try {
+                    status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                } catch (IOException e) {
+                    status = 0;
+                }
+                long end = System.nanoTime();
+                if (start >= measureFrom) {
+                    LatencyStats endpointStats = stats.computeIfAbsent(endpoint, e -> new LatencyStats());
+                    if (status == 0) {
+                        endpointStats.recordFailure();
+                    } else {
+                        endpointStats.record(end - start, status);
+                    }
+                }
+                if (status == 401) {
+                    login();
+                }
+                if (thinkMillis > 0) {
+                    Thread.sleep((long) (-thinkMillis * Math.log(1.0 - random.nextDouble())));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.pennywise.pennywisebackend.config;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Runs each named migration once per database under an advisory lock. Postgres only.
+@Component
+@RequiredArgsConstructor
+public class DataMigrations {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataMigrations.class);
+    private static final long LOCK_KEY = 0x5045_4e4e_5957_4953L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    public void runOnce(String name, Runnable migration) {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            logger.info("Skipping data migration {} on {}", name, product);
+            return;
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> {
+            }, LOCK_KEY);
+            Integer applied = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM data_migrations WHERE name = ?",
+                    Integer.class, name);
+            if (applied != null && applied > 0) {
+                return;
+            }
+            migration.run();
+            jdbcTemplate.update("INSERT INTO data_migrations (name, applied_at) VALUES (?, CURRENT_TIMESTAMP)", name);
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package com.pennywise.pennywisebackend.config;
+
+import com.pennywise.pennywisebackend.monitoring.QueryCountingDataSource;
+import com.pennywise.pennywisebackend.security.ratelimit.RateLimitFilter;
+import com.pennywise.pennywisebackend.service.PasswordHashingService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordHashingService passwordHashingService) {
+        return registry -> {
+            Gauge.builder("bcrypt.pool.queued", passwordHashingService, PasswordHashingService::getQueueDepth)
+                    .register(registry);
+            Gauge.builder("bcrypt.pool.active", passwordHashingService, PasswordHashingService::getActiveCount)
+                    .register(registry);
+            Gauge.builder("bcrypt.pool.size", passwordHashingService, PasswordHashingService::getPoolSize)
+                    .register(registry);
+            FunctionCounter.builder("bcrypt.pool.completed", passwordHashingService,
+                            PasswordHashingService::getCompletedCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics(RateLimitFilter rateLimitFilter) {
+        return registry -> Gauge.builder("ratelimit.keys.tracked", rateLimitFilter, RateLimitFilter::getTrackedKeys)
+                .register(registry);
+    }
+
+    // Static so the post-processor does not force this configuration (and the meter registry) to be created
+    // before the repositories it has to see.
+    @Bean
+    public static RepositoryRowMetrics repositoryRowMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RepositoryRowMetrics(meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.sql.enabled", havingValue = "true")
+    public static BeanPostProcessor queryCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.pennywise.pennywisebackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.sql")
+public class QueryBudgetProperties {
+
+    // Proxies every JDBC call (see QueryCountingBenchmark), so off unless a profile or test turns it on.
+    private boolean enabled = false;
+
+    private boolean debugHeader = false;
+
+    // Checked after the response is written, so only MockMvc tests see the exception.
+    private boolean failOnViolation = false;
+
+    // 0 means unlimited.
+    private int defaultMaxStatements = 0;
+
+    // First matching pattern wins.
+    private List<Budget> budgets = new ArrayList<>();
+
+    @Data
+    public static class Budget {
+        private String pattern;
+        private int maxStatements;
+        // 0 means unlimited.
+        private long maxRows;
+    }
+}
@@ -0,0 +1,41 @@
+package com.pennywise.pennywisebackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.ratelimit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound on tracked buckets across all policies; idle buckets are evicted first.
+    private int maxKeys = 100_000;
+
+    private int stripes = 64;
+
+    private long evictionIntervalMs = 60_000;
+
+    // Checked in order; the first policy whose pattern matches the request path applies.
+    private List<Policy> policies = new ArrayList<>();
+
+    @Data
+    public static class Policy {
+        private String name;
+        private String pattern;
+        private int capacity;
+        private int refillPerMinute;
+        private KeyBy keyBy = KeyBy.USER;
+    }
+
+    public enum KeyBy {
+        // Authenticated user id, falling back to the client IP for anonymous requests.
+        USER,
+        IP
+    }
+}
@@ -0,0 +1,28 @@
+package com.pennywise.pennywisebackend.config;
+
+import com.pennywise.pennywisebackend.service.DailySpendService;
+import com.pennywise.pennywisebackend.service.FinancialGoalService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Component
+@RequiredArgsConstructor
+public class SchemaInitializer implements SmartInitializingSingleton {
+
+    private final DataSource dataSource;
+    private final DataMigrations dataMigrations;
+    private final DailySpendService dailySpendService;
+    private final FinancialGoalService financialGoalService;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/schema.sql")).execute(dataSource);
+        dataMigrations.runOnce("aggregate_backfill", dailySpendService::backfillFromTransactions);
+        dataMigrations.runOnce("orphaned_goals", financialGoalService::adoptOrQuarantineOrphanedGoals);
+    }
+}
@@ -3,64 +3,65 @@ package com.pennywise.pennywisebackend.controller;
 import com.pennywise.pennywisebackend.model.User;
 import com.pennywise.pennywisebackend.payload.request.LoginRequest;
 import com.pennywise.pennywisebackend.payload.request.SignupRequest;
+import com.pennywise.pennywisebackend.payload.request.TokenRefreshRequest;
 import com.pennywise.pennywisebackend.payload.response.JwtResponse;
 import com.pennywise.pennywisebackend.payload.response.MessageResponse;
 import com.pennywise.pennywisebackend.repository.UserRepository;
+import com.pennywise.pennywisebackend.security.UserPrincipal;
+import com.pennywise.pennywisebackend.service.PasswordHashingService;
+import com.pennywise.pennywisebackend.service.TokenRevocationService;
 import com.pennywise.pennywisebackend.util.JwtUtil;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import com.pennywise.pennywisebackend.dto.UserProfileDto;
 
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
-    @Autowired
-    AuthenticationManager authenticationManager;
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
 
     @Autowired
     UserRepository userRepository;
 
     @Autowired
-    PasswordEncoder encoder;
+    PasswordHashingService passwordHashingService;
 
     @Autowired
     JwtUtil jwtUtil;
 
+    @Autowired
+    TokenRevocationService tokenRevocationService;
+
     @PostMapping("/login")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         try {
-            User userForAuth = userRepository.findByEmail(loginRequest.getUsername())
-                    .orElseThrow(() -> new RuntimeException("Error: User not found with provided email."));
-
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(userForAuth.getUsername(), loginRequest.getPassword()));
-
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            String jwt = jwtUtil.generateJwtToken(authentication);
-
-            return ResponseEntity.ok(new JwtResponse(jwt,
-                    userForAuth.getId(),
-                    userForAuth.getUsername(),
-                    userForAuth.getEmail()));
-        } catch (RuntimeException e) {
-            // Log the exception details for backend debugging
-            // Consider using a logging framework like SLF4J if not already in use
-            System.err.println("Login error: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(500).body(new MessageResponse("Login failed: " + e.getMessage()));
-        }  catch (Exception e) {
-            System.err.println("Unexpected login error: " + e.getMessage());
-            e.printStackTrace();
+            Optional<User> userForAuth = userRepository.findByEmail(loginRequest.getUsername());
+            // Unknown emails still pay for one BCrypt check so timing does not reveal which accounts exist.
+            String hash = userForAuth.map(User::getPassword).orElse(passwordHashingService.getDummyHash());
+            boolean matches = passwordHashingService.matches(loginRequest.getPassword(), hash);
+            if (userForAuth.isEmpty() || !matches) {
+                return ResponseEntity.status(401).body(new MessageResponse("Error: Invalid email or password."));
+            }
+
+            return ResponseEntity.ok(issueTokens(userForAuth.get()));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Login rejected, password hashing saturated: {}", e.getMessage());
+            return ResponseEntity.status(503).body(new MessageResponse("Server is busy, please try again shortly."));
+        } catch (Exception e) {
+            logger.error("Unexpected login error", e);
             return ResponseEntity.status(500).body(new MessageResponse("An unexpected error occurred during login."));
         }
     }
@@ -68,50 +69,76 @@ public class AuthController {
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
         try {
-            if (userRepository.existsByUsername(signUpRequest.getUsername())) {
-                return ResponseEntity
-                        .badRequest()
-                        .body(new MessageResponse("Error: Username is already taken!"));
-            }
-
-            if (userRepository.existsByEmail(signUpRequest.getEmail())) {
-                return ResponseEntity
-                        .badRequest()
-                        .body(new MessageResponse("Error: Email is already in use!"));
-            }
-
             User user = new User(signUpRequest.getUsername(),
                     signUpRequest.getEmail(),
-                    encoder.encode(signUpRequest.getPassword()));
-            userRepository.save(user);
-
-            // Authenticate the newly registered user
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(signUpRequest.getUsername(), signUpRequest.getPassword()));
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            String jwt = jwtUtil.generateJwtToken(authentication);
-
-            // Fetch the user again to ensure all details are present (especially ID if generated)
-            // Though 'user' object after save should ideally have the ID if configured correctly.
-            User registeredUser = userRepository.findByUsername(signUpRequest.getUsername())
-                    .orElseThrow(() -> new RuntimeException(
-                            "Error: User not found by username after registration. Critical error."));
-
-            return ResponseEntity.ok(new JwtResponse(jwt,
-                    registeredUser.getId(),
-                    registeredUser.getUsername(),
-                    registeredUser.getEmail()));
-        } catch (RuntimeException e) {
-            System.err.println("Registration error: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(500).body(new MessageResponse("Registration failed: " + e.getMessage()));
+                    passwordHashingService.encode(signUpRequest.getPassword()));
+
+            // The unique constraints on username and email catch duplicates, so the common path is one insert.
+            User registeredUser;
+            try {
+                registeredUser = userRepository.saveAndFlush(user);
+            } catch (DataIntegrityViolationException e) {
+                if (userRepository.existsByUsername(signUpRequest.getUsername())) {
+                    return ResponseEntity.badRequest().body(new MessageResponse("Error: Username is already taken!"));
+                }
+                if (userRepository.existsByEmail(signUpRequest.getEmail())) {
+                    return ResponseEntity.badRequest().body(new MessageResponse("Error: Email is already in use!"));
+                }
+                throw e;
+            }
+
+            return ResponseEntity.ok(issueTokens(registeredUser));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Registration rejected, password hashing saturated: {}", e.getMessage());
+            return ResponseEntity.status(503).body(new MessageResponse("Server is busy, please try again shortly."));
         } catch (Exception e) {
-            System.err.println("Unexpected registration error: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Unexpected registration error", e);
             return ResponseEntity.status(500).body(new MessageResponse("An unexpected error occurred during registration."));
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody TokenRefreshRequest refreshRequest) {
+        UserPrincipal principal = jwtUtil.getPrincipalFromRefreshToken(refreshRequest.getRefreshToken());
+        if (principal == null || tokenRevocationService.isRevoked(principal.getTokenId())) {
+            return ResponseEntity.status(401).body(new MessageResponse("Error: Refresh token is invalid or revoked."));
+        }
+        // Refresh is rare, so this is where deleted accounts are caught and username/email changes picked up.
+        Optional<User> user = userRepository.findById(principal.getId());
+        if (user.isEmpty()) {
+            return ResponseEntity.status(401).body(new MessageResponse("Error: User no longer exists."));
+        }
+
+        tokenRevocationService.revoke(principal.getTokenId(), principal.getId(), jwtUtil.refreshTokenExpiryFromNow());
+        return ResponseEntity.ok(issueTokens(user.get()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@AuthenticationPrincipal UserPrincipal principal,
+            @RequestBody(required = false) TokenRefreshRequest logoutRequest) {
+        if (principal != null) {
+            tokenRevocationService.revoke(principal.getTokenId(), principal.getId(),
+                    jwtUtil.accessTokenExpiryFromNow());
+        }
+        if (logoutRequest != null && logoutRequest.getRefreshToken() != null) {
+            UserPrincipal refreshPrincipal = jwtUtil.getPrincipalFromRefreshToken(logoutRequest.getRefreshToken());
+            if (refreshPrincipal != null) {
+                tokenRevocationService.revoke(refreshPrincipal.getTokenId(), refreshPrincipal.getId(),
+                        jwtUtil.refreshTokenExpiryFromNow());
+            }
+        }
+        return ResponseEntity.ok(new MessageResponse("Logged out."));
+    }
+
+    private JwtResponse issueTokens(User user) {
+        UserPrincipal principal = UserPrincipal.fromUser(user);
+        return new JwtResponse(jwtUtil.generateTokenForPrincipal(principal),
+                jwtUtil.generateRefreshToken(principal),
+                user.getId(),
+                user.getUsername(),
+                user.getEmail());
+    }
+
     @GetMapping("/profile")
     public ResponseEntity<?> getUserProfile() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -120,15 +147,11 @@ public class AuthController {
             return ResponseEntity.status(401).body(new MessageResponse("Error: User not authenticated."));
         }
 
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException(
-                        "Error: Authenticated user not found in database. Inconsistency detected."));
-
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
         return ResponseEntity.ok(new UserProfileDto(
-                user.getId(),
-                user.getUsername(),
-                user.getEmail(),
-                user.getUsername()));
+                principal.getId(),
+                principal.getUsername(),
+                principal.getEmail(),
+                principal.getUsername()));
     }
 }
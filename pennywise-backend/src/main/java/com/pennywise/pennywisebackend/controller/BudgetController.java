@@ -3,11 +3,16 @@ package com.pennywise.pennywisebackend.controller;
 import com.pennywise.pennywisebackend.dto.BudgetDTO;
 
 import com.pennywise.pennywisebackend.model.Budget;
+import com.pennywise.pennywisebackend.payload.request.BudgetCopyRequest;
+import com.pennywise.pennywisebackend.payload.request.BudgetUpsertRequest;
 import com.pennywise.pennywisebackend.service.BudgetService;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -18,17 +23,19 @@ import java.util.List;
 @RequestMapping("/api/budgets")
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*")
+@Validated
 public class BudgetController {
 
     private final BudgetService budgetService;
 
     @GetMapping
     public ResponseEntity<List<BudgetDTO>> getAllBudgets(
-            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(defaultValue = "false") boolean forecast) {
         if (month != null) {
-            return ResponseEntity.ok(budgetService.getBudgetsByMonth(month.atDay(1)));
+            return ResponseEntity.ok(budgetService.getBudgetsByMonth(month.atDay(1), forecast));
         }
-        return ResponseEntity.ok(budgetService.getAllBudgets());
+        return ResponseEntity.ok(budgetService.getAllBudgets(forecast));
     }
 
     @GetMapping("/{id}")
@@ -59,6 +66,29 @@ public class BudgetController {
         }
     }
 
+    @PostMapping("/copy")
+    public ResponseEntity<?> copyBudgets(@Valid @RequestBody BudgetCopyRequest copyRequest) {
+        try {
+            List<BudgetDTO> copied = budgetService.copyBudgets(copyRequest.getSourceMonth(),
+                    copyRequest.getTargetMonths(), copyRequest.isOverwrite());
+            if (copied.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(copied);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<?> upsertBudgets(@RequestBody List<@Valid BudgetUpsertRequest> budgets) {
+        try {
+            return ResponseEntity.ok(budgetService.upsertBudgets(budgets));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateBudget(@PathVariable Long id, @RequestBody Budget budgetDetails) {
         try {
@@ -83,4 +113,9 @@ public class BudgetController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<String> handleConstraintViolation(ConstraintViolationException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
 }
@@ -1,13 +1,17 @@
 package com.pennywise.pennywisebackend.controller;
 
+import com.pennywise.pennywisebackend.dto.CashFlowForecastDTO;
 import com.pennywise.pennywisebackend.dto.DashboardSummaryDTO;
 import com.pennywise.pennywisebackend.dto.ExpenseBreakdownDTO;
 import com.pennywise.pennywisebackend.dto.MonthlyTrendDTO;
 import com.pennywise.pennywisebackend.dto.MonthlyOverviewDTO;
+import com.pennywise.pennywisebackend.security.UserPrincipal;
+import com.pennywise.pennywisebackend.service.CashFlowForecastService;
 import com.pennywise.pennywisebackend.service.DashboardService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -21,6 +25,7 @@ import java.util.List;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final CashFlowForecastService cashFlowForecastService;
 
     @GetMapping("/summary")
     public ResponseEntity<DashboardSummaryDTO> getDashboardSummary(
@@ -43,6 +48,13 @@ public class DashboardController {
         return ResponseEntity.ok(dashboardService.getSpendingTrends(months));
     }
 
+    @GetMapping("/spending-forecast")
+    public ResponseEntity<List<CashFlowForecastDTO>> getSpendingForecast(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam(defaultValue = "6") int months) {
+        return ResponseEntity.ok(cashFlowForecastService.forecast(principal.getId(), months));
+    }
+
     @GetMapping("/current-month-overview")
     public ResponseEntity<MonthlyOverviewDTO> getCurrentMonthOverview() {
         return ResponseEntity.ok(dashboardService.getCurrentMonthOverview());
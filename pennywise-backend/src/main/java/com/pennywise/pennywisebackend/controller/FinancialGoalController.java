@@ -1,7 +1,9 @@
 package com.pennywise.pennywisebackend.controller;
 
+import com.pennywise.pennywisebackend.dto.GoalProjectionDTO;
 import com.pennywise.pennywisebackend.model.FinancialGoal;
 import com.pennywise.pennywisebackend.service.FinancialGoalService;
+import com.pennywise.pennywisebackend.service.GoalProjectionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +18,7 @@ import java.util.List;
 public class FinancialGoalController {
 
     private final FinancialGoalService financialGoalService;
+    private final GoalProjectionService goalProjectionService;
 
     @GetMapping
     public ResponseEntity<List<FinancialGoal>> getAllFinancialGoals() {
@@ -29,6 +32,14 @@ public class FinancialGoalController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/projection")
+    public ResponseEntity<GoalProjectionDTO> getGoalProjection(@PathVariable Long id,
+            @RequestParam(required = false) Integer paths) {
+        return goalProjectionService.getProjection(id, paths)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping
     public ResponseEntity<FinancialGoal> createFinancialGoal(@RequestBody FinancialGoal financialGoal) {
         FinancialGoal createdGoal = financialGoalService.saveFinancialGoal(financialGoal);
@@ -0,0 +1,30 @@
+package com.pennywise.pennywisebackend.controller;
+
+import com.pennywise.pennywisebackend.model.GoalNotification;
+import com.pennywise.pennywisebackend.service.GoalNotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class GoalNotificationController {
+
+    private final GoalNotificationService goalNotificationService;
+
+    @GetMapping
+    public ResponseEntity<List<GoalNotification>> getRecentNotifications() {
+        return ResponseEntity.ok(goalNotificationService.getRecentNotifications());
+    }
+
+    @PostMapping("/{id}/read")
+    public ResponseEntity<GoalNotification> markAsRead(@PathVariable Long id) {
+        return goalNotificationService.markAsRead(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -1,5 +1,6 @@
 package com.pennywise.pennywisebackend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,4 +17,18 @@ public class BudgetDTO {
     private BigDecimal budgetAmount;
     private BigDecimal spentAmount;
     private LocalDate month;
+
+    // Only populated when a forecast is requested.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BigDecimal projectedSpend;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDate projectedOverrunDate;
+
+    public BudgetDTO(Long id, String category, BigDecimal budgetAmount, BigDecimal spentAmount, LocalDate month) {
+        this.id = id;
+        this.category = category;
+        this.budgetAmount = budgetAmount;
+        this.spentAmount = spentAmount;
+        this.month = month;
+    }
 }
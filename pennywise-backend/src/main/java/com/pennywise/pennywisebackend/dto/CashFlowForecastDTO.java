@@ -0,0 +1,18 @@
+package com.pennywise.pennywisebackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CashFlowForecastDTO {
+    private String month;
+    private BigDecimal income;
+    private BigDecimal expenses;
+    private Map<String, BigDecimal> expensesByCategory;
+}
@@ -21,4 +21,5 @@ public class DashboardSummaryDTO {
     private BigDecimal savingsRateChangePercentage;
 
     private Integer aiGenerationsLeft;
+    private Boolean aiAdviceEligible;
 }
@@ -0,0 +1,25 @@
+package com.pennywise.pennywisebackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalProjectionDTO {
+    private Long goalId;
+    // Share of simulated paths that reach the target by the deadline; null without enough history.
+    private Double probability;
+    private Integer paths;
+    private Integer horizonMonths;
+    private Integer historyMonths;
+    // Date by which half of all paths reach the target; null if fewer than half do.
+    private LocalDate medianCompletionDate;
+    private BigDecimal p10FinalAmount;
+    private BigDecimal p50FinalAmount;
+    private BigDecimal p90FinalAmount;
+}
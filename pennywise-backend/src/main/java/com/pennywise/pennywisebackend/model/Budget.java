@@ -1,5 +1,6 @@
 package com.pennywise.pennywisebackend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,7 +13,9 @@ import java.time.LocalDate;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "budgets")
+@Table(name = "budgets", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "user_id", "category", "month_date" })
+})
 public class Budget {
 
     @Id
@@ -25,6 +28,7 @@ public class Budget {
     @Column(name = "month_date", nullable = false)
     private LocalDate month;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -0,0 +1,22 @@
+package com.pennywise.pennywisebackend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+// One row per shared in-memory cache; writers bump the version so other nodes know to reload.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "cache_versions")
+public class CacheVersion {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private Long version;
+}
@@ -1,18 +1,22 @@
 package com.pennywise.pennywisebackend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "financial_goals")
+@Table(name = "financial_goals", indexes = {
+        @Index(columnList = "user_id, category")
+})
 public class FinancialGoal {
 
     @Id
@@ -21,7 +25,27 @@ public class FinancialGoal {
 
     private String title;
     private BigDecimal targetAmount;
+
+    // Opening balance entered by the user plus trackedAmount.
     private BigDecimal currentAmount;
+
     private LocalDate deadline;
     private String category;
+
+    // Net amount moved into this goal's category since trackingStart, maintained on transaction writes.
+    @Column(name = "tracked_amount", nullable = false, columnDefinition = "NUMERIC(38,2) DEFAULT 0")
+    private BigDecimal trackedAmount = BigDecimal.ZERO;
+
+    @Column(name = "tracking_start")
+    private LocalDate trackingStart;
+
+    // Set when the evaluation job claims the goal; other nodes skip goals evaluated recently.
+    @JsonIgnore
+    @Column(name = "last_evaluated_at")
+    private Instant lastEvaluatedAt;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
 }
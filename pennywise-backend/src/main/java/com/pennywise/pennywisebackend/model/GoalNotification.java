@@ -0,0 +1,43 @@
+package com.pennywise.pennywisebackend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "goal_notifications", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "goal_id", "kind" })
+}, indexes = {
+        @Index(columnList = "user_id, created_at")
+})
+public class GoalNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "goal_id", nullable = false)
+    private Long goalId;
+
+    // AT_RISK, OVERDUE or COMPLETED; at most one notification of each kind per goal.
+    @Column(nullable = false, length = 16)
+    private String kind;
+
+    @Column(nullable = false)
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "read_at")
+    private Instant readAt;
+}
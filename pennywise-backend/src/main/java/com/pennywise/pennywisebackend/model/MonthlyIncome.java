@@ -0,0 +1,34 @@
+package com.pennywise.pennywisebackend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "monthly_income", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "user_id", "month_date" })
+})
+public class MonthlyIncome {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "month_date", nullable = false)
+    private LocalDate month;
+
+    // Positive total of the month's income transactions.
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+}
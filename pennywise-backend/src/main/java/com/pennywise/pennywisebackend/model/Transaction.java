@@ -1,5 +1,6 @@
 package com.pennywise.pennywisebackend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,7 +13,9 @@ import java.time.LocalDate;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(columnList = "user_id, type")
+})
 public class Transaction {
 
     @Id
@@ -25,6 +28,7 @@ public class Transaction {
     private BigDecimal amount;
     private String type;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -34,6 +35,10 @@ public class User {
     @Column(name = "ai_advice_count", nullable = false, columnDefinition = "INT DEFAULT 0")
     private Integer aiAdviceCount = 0;
 
+    // First day of the quota period that aiAdviceCount belongs to; null means the count predates periods.
+    @Column(name = "ai_advice_period_start")
+    private LocalDate aiAdvicePeriodStart;
+
     public User(String username, String email, String password) {
         this.username = username;
         this.email = email;
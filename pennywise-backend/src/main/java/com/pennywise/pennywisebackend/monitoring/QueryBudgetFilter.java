@@ -0,0 +1,119 @@
+package com.pennywise.pennywisebackend.monitoring;
+
+import com.pennywise.pennywisebackend.config.QueryBudgetProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    static final String ROWS_HEADER = "X-SQL-Rows";
+    static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final QueryBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private List<CompiledBudget> budgets;
+
+    private record CompiledBudget(PathPattern pattern, int maxStatements, long maxRows) {
+    }
+
+    @PostConstruct
+    public void init() {
+        PathPatternParser parser = new PathPatternParser();
+        List<CompiledBudget> compiled = new ArrayList<>();
+        for (QueryBudgetProperties.Budget budget : properties.getBudgets()) {
+            compiled.add(new CompiledBudget(parser.parse(budget.getPattern()), budget.getMaxStatements(),
+                    budget.getMaxRows()));
+        }
+        this.budgets = List.copyOf(compiled);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryStats.end();
+        }
+        if (properties.isDebugHeader() && !response.isCommitted()) {
+            writeHeaders(response, stats);
+        }
+        record(request, stats);
+    }
+
+    static void writeHeaders(HttpServletResponse response, QueryStats stats) {
+        response.setHeader(STATEMENTS_HEADER, Integer.toString(stats.getStatements()));
+        response.setHeader(ROWS_HEADER, Long.toString(stats.getRows()));
+        response.setHeader(TIME_HEADER, Long.toString(TimeUnit.NANOSECONDS.toMillis(stats.getNanos())));
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+        meterRegistry.summary("sql.request.statements", tags).record(stats.getStatements());
+        meterRegistry.summary("sql.request.rows", tags).record(stats.getRows());
+        meterRegistry.timer("sql.request.time", tags).record(stats.getNanos(), TimeUnit.NANOSECONDS);
+
+        CompiledBudget budget = match(request);
+        int maxStatements = budget != null ? budget.maxStatements() : properties.getDefaultMaxStatements();
+        long maxRows = budget != null ? budget.maxRows() : 0;
+        boolean overStatements = maxStatements > 0 && stats.getStatements() > maxStatements;
+        boolean overRows = maxRows > 0 && stats.getRows() > maxRows;
+        if (!overStatements && !overRows) {
+            return;
+        }
+        meterRegistry.counter("sql.request.budget.violations", tags).increment();
+        String message = String.format("SQL budget exceeded for %s %s: %d statements (budget %s), %d rows (budget %s)",
+                request.getMethod(), request.getRequestURI(), stats.getStatements(),
+                maxStatements > 0 ? maxStatements : "none", stats.getRows(), maxRows > 0 ? maxRows : "none");
+        if (properties.isFailOnViolation()) {
+            throw new IllegalStateException(message);
+        }
+        logger.warn(message);
+    }
+
+    private CompiledBudget match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(
+                request.getContextPath().length()));
+        for (CompiledBudget budget : budgets) {
+            if (budget.pattern().matches(path)) {
+                return budget;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,88 @@
+package com.pennywise.pennywisebackend.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        QueryStats stats = QueryStats.current();
+        if (stats == null) {
+            return connection;
+        }
+        return (Connection) proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return proxy(method.getReturnType(), statement, statementHandler(stats));
+            }
+            return result;
+        });
+    }
+
+    private static TargetHandler statementHandler(QueryStats stats) {
+        return (target, method, args) -> {
+            Object result;
+            if (method.getName().startsWith("execute")) {
+                long start = System.nanoTime();
+                try {
+                    result = invoke(target, method, args);
+                } finally {
+                    stats.recordStatement(System.nanoTime() - start);
+                }
+            } else {
+                result = invoke(target, method, args);
+            }
+            if (result instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, resultSet, (rs, m, a) -> {
+                    Object value = invoke(rs, m, a);
+                    if (Boolean.TRUE.equals(value) && "next".equals(m.getName())) {
+                        stats.recordRow();
+                    }
+                    return value;
+                });
+            }
+            return result;
+        };
+    }
+
+    private interface TargetHandler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static Object proxy(Class<?> type, Object target, TargetHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+        return Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[] { type },
+                invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
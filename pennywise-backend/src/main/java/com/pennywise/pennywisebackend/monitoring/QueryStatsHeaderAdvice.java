@@ -0,0 +1,35 @@
+package com.pennywise.pennywisebackend.monitoring;
+
+import com.pennywise.pennywisebackend.config.QueryBudgetProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+@ControllerAdvice
+@RequiredArgsConstructor
+public class QueryStatsHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    private final QueryBudgetProperties properties;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return properties.isEnabled() && properties.isDebugHeader();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null && response instanceof ServletServerHttpResponse servletResponse) {
+            QueryBudgetFilter.writeHeaders(servletResponse.getServletResponse(), stats);
+        }
+        return body;
+    }
+}
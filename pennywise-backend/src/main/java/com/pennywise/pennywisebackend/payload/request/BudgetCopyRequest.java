@@ -0,0 +1,41 @@
+package com.pennywise.pennywisebackend.payload.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public class BudgetCopyRequest {
+    @NotNull
+    private YearMonth sourceMonth;
+
+    @NotEmpty
+    private List<YearMonth> targetMonths;
+
+    private boolean overwrite;
+
+    public YearMonth getSourceMonth() {
+        return sourceMonth;
+    }
+
+    public void setSourceMonth(YearMonth sourceMonth) {
+        this.sourceMonth = sourceMonth;
+    }
+
+    public List<YearMonth> getTargetMonths() {
+        return targetMonths;
+    }
+
+    public void setTargetMonths(List<YearMonth> targetMonths) {
+        this.targetMonths = targetMonths;
+    }
+
+    public boolean isOverwrite() {
+        return overwrite;
+    }
+
+    public void setOverwrite(boolean overwrite) {
+        this.overwrite = overwrite;
+    }
+}
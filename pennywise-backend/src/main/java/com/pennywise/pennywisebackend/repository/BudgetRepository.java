@@ -2,6 +2,8 @@ package com.pennywise.pennywisebackend.repository;
 
 import com.pennywise.pennywisebackend.model.Budget;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -24,4 +26,82 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     Optional<Budget> findByUserIdAndCategoryAndMonth(Long userId, String category, LocalDate monthFirstDay);
 
     List<Budget> findByUserIdAndCategory(Long userId, String category);
+
+    // Rows are (id, category, budget_amount, spent_amount, month_date) here and in the upserts below.
+    @Query(value = """
+            SELECT b.id, b.category, b.budget_amount, COALESCE(ABS(SUM(t.amount)), 0) AS spent_amount, b.month_date
+            FROM budgets b
+            LEFT JOIN transactions t ON t.user_id = b.user_id AND t.category = b.category AND t.type = 'expense'
+                AND t.date >= b.month_date AND t.date < b.month_date + INTERVAL '1' MONTH
+            WHERE b.user_id = :userId
+            GROUP BY b.id, b.category, b.budget_amount, b.month_date
+            ORDER BY b.month_date, b.category
+            """, nativeQuery = true)
+    List<Object[]> findWithSpentByUserId(@Param("userId") Long userId);
+
+    @Query(value = """
+            SELECT b.id, b.category, b.budget_amount, COALESCE(ABS(SUM(t.amount)), 0) AS spent_amount, b.month_date
+            FROM budgets b
+            LEFT JOIN transactions t ON t.user_id = b.user_id AND t.category = b.category AND t.type = 'expense'
+                AND t.date >= b.month_date AND t.date < b.month_date + INTERVAL '1' MONTH
+            WHERE b.user_id = :userId AND b.month_date = :month
+            GROUP BY b.id, b.category, b.budget_amount, b.month_date
+            ORDER BY b.category
+            """, nativeQuery = true)
+    List<Object[]> findWithSpentByUserIdAndMonth(@Param("userId") Long userId, @Param("month") LocalDate month);
+
+    // Returns every budget of the target months. The main query sees the pre-statement snapshot, so rows the
+    // upsert touched come from its RETURNING list.
+    @Query(value = """
+            WITH targets AS (
+                SELECT CAST(m.target AS date) AS month_date
+                FROM json_array_elements_text(CAST(:targetMonths AS json)) AS m(target)
+            ),
+            upserted AS (
+                INSERT INTO budgets (user_id, category, budget_amount, month_date)
+                SELECT b.user_id, b.category, b.budget_amount, t.month_date
+                FROM budgets b
+                CROSS JOIN targets t
+                WHERE b.user_id = :userId AND b.month_date = :sourceMonth
+                ON CONFLICT (user_id, category, month_date)
+                DO UPDATE SET budget_amount = EXCLUDED.budget_amount WHERE :overwrite
+                RETURNING id, category, budget_amount, month_date
+            ),
+            target_budgets AS (
+                SELECT id, category, budget_amount, month_date FROM upserted
+                UNION ALL
+                SELECT b.id, b.category, b.budget_amount, b.month_date
+                FROM budgets b
+                WHERE b.user_id = :userId AND b.month_date IN (SELECT month_date FROM targets)
+                    AND b.id NOT IN (SELECT id FROM upserted)
+            )
+            SELECT u.id, u.category, u.budget_amount, COALESCE(ABS(SUM(t.amount)), 0) AS spent_amount, u.month_date
+            FROM target_budgets u
+            LEFT JOIN transactions t ON t.user_id = :userId AND t.category = u.category AND t.type = 'expense'
+                AND t.date >= u.month_date AND t.date < u.month_date + INTERVAL '1' MONTH
+            GROUP BY u.id, u.category, u.budget_amount, u.month_date
+            ORDER BY u.month_date, u.category
+            """, nativeQuery = true)
+    List<Object[]> copyMonthWithSpent(@Param("userId") Long userId, @Param("sourceMonth") LocalDate sourceMonth,
+            @Param("targetMonths") String targetMonths, @Param("overwrite") boolean overwrite);
+
+    // Upserts a JSON array of {category, budget_amount, month_date} and returns the rows it wrote.
+    @Query(value = """
+            WITH upserted AS (
+                INSERT INTO budgets (user_id, category, budget_amount, month_date)
+                SELECT :userId, x.category, x.budget_amount, x.month_date
+                FROM json_to_recordset(CAST(:budgets AS json))
+                    AS x(category text, budget_amount numeric, month_date date)
+                ON CONFLICT (user_id, category, month_date)
+                DO UPDATE SET budget_amount = EXCLUDED.budget_amount
+                RETURNING id, category, budget_amount, month_date
+            )
+            SELECT u.id, u.category, u.budget_amount, COALESCE(ABS(SUM(t.amount)), 0) AS spent_amount, u.month_date
+            FROM upserted u
+            LEFT JOIN transactions t ON t.user_id = :userId AND t.category = u.category AND t.type = 'expense'
+                AND t.date >= u.month_date AND t.date < u.month_date + INTERVAL '1' MONTH
+            GROUP BY u.id, u.category, u.budget_amount, u.month_date
+            ORDER BY u.month_date, u.category
+            """, nativeQuery = true)
+    List<Object[]> upsertAllWithSpent(@Param("userId") Long userId, @Param("budgets") String budgets);
 }
@@ -0,0 +1,24 @@
+package com.pennywise.pennywisebackend.repository;
+
+import com.pennywise.pennywisebackend.model.CacheVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CacheVersionRepository extends JpaRepository<CacheVersion, String> {
+
+    @Query("SELECT c.version FROM CacheVersion c WHERE c.name = :name")
+    Optional<Long> findVersion(@Param("name") String name);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO cache_versions (name, version) VALUES (:name, 1)
+            ON CONFLICT (name) DO UPDATE SET version = cache_versions.version + 1
+            """, nativeQuery = true)
+    void bump(@Param("name") String name);
+}
@@ -0,0 +1,58 @@
+package com.pennywise.pennywisebackend.repository;
+
+import com.pennywise.pennywisebackend.model.DailySpend;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DailySpendRepository extends JpaRepository<DailySpend, Long> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_spend (user_id, category, day, amount)
+            VALUES (:userId, :category, :day, :amount)
+            ON CONFLICT (user_id, category, day)
+            DO UPDATE SET amount = daily_spend.amount + EXCLUDED.amount
+            """, nativeQuery = true)
+    void addSpend(@Param("userId") Long userId, @Param("category") String category, @Param("day") LocalDate day,
+            @Param("amount") BigDecimal amount);
+
+    // Daily rows of the given months (first days), bounded by the day range so the index still applies.
+    @Query(value = """
+            SELECT * FROM daily_spend
+            WHERE user_id = :userId AND day >= :fromDay AND day <= :toDay
+                AND CAST(date_trunc('month', day) AS date) IN (:monthStarts)
+            """, nativeQuery = true)
+    List<DailySpend> findInMonths(@Param("userId") Long userId, @Param("monthStarts") Collection<LocalDate> monthStarts,
+            @Param("fromDay") LocalDate fromDay, @Param("toDay") LocalDate toDay);
+
+    // Rows of (category, first day of month, total) for the given day range.
+    @Query(value = """
+            SELECT category, CAST(date_trunc('month', day) AS date) AS month_start, SUM(amount)
+            FROM daily_spend
+            WHERE user_id = :userId AND day >= :fromDay AND day <= :toDay
+            GROUP BY category, CAST(date_trunc('month', day) AS date)
+            """, nativeQuery = true)
+    List<Object[]> sumByCategoryAndMonth(@Param("userId") Long userId, @Param("fromDay") LocalDate fromDay,
+            @Param("toDay") LocalDate toDay);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_spend (user_id, category, day, amount)
+            SELECT t.user_id, t.category, t.date, ABS(SUM(t.amount))
+            FROM transactions t
+            WHERE t.type = 'expense' AND t.category IS NOT NULL AND t.date IS NOT NULL
+            GROUP BY t.user_id, t.category, t.date
+            ON CONFLICT (user_id, category, day)
+            DO UPDATE SET amount = EXCLUDED.amount
+            """, nativeQuery = true)
+    int backfillFromTransactions();
+}
@@ -2,13 +2,79 @@ package com.pennywise.pennywisebackend.repository;
 
 import com.pennywise.pennywisebackend.model.FinancialGoal;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface FinancialGoalRepository extends JpaRepository<FinancialGoal, Long> {
     List<FinancialGoal> findByCategory(String category);
 
-    List<FinancialGoal> findByDeadlineBefore(java.time.LocalDate date);
+    List<FinancialGoal> findByUserId(Long userId);
+
+    Optional<FinancialGoal> findByIdAndUserId(Long id, Long userId);
+
+    // Goals created before goals had owners can only belong to the sole user of a single-user install.
+    @Modifying
+    @Query(value = """
+            UPDATE financial_goals
+            SET user_id = (SELECT MIN(id) FROM users),
+                tracking_start = COALESCE(tracking_start, CURRENT_DATE)
+            WHERE user_id IS NULL AND (SELECT COUNT(*) FROM users) = 1
+            """, nativeQuery = true)
+    int adoptOrphansBySoleUser();
+
+    // Moves goals with no owner into orphaned_financial_goals, which keeps the rows for manual reassignment.
+    @Modifying
+    @Query(value = """
+            CREATE TABLE IF NOT EXISTS orphaned_financial_goals AS
+            SELECT * FROM financial_goals WITH NO DATA
+            """, nativeQuery = true)
+    void createOrphanTable();
+
+    @Modifying
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM financial_goals WHERE user_id IS NULL RETURNING *
+            )
+            INSERT INTO orphaned_financial_goals SELECT * FROM moved
+            """, nativeQuery = true)
+    int quarantineOrphans();
+
+    // Applies one transaction's contribution to every goal of the user that tracks its category and date.
+    @Modifying
+    @Query(value = """
+            UPDATE financial_goals
+            SET tracked_amount = tracked_amount + :delta,
+                current_amount = COALESCE(current_amount, 0) + :delta
+            WHERE user_id = :userId AND category = :category AND tracking_start <= :date
+            """, nativeQuery = true)
+    int addContribution(@Param("userId") Long userId, @Param("category") String category,
+            @Param("date") LocalDate date, @Param("delta") BigDecimal delta);
+
+    // Rows are (id, user_id, target_amount, current_amount, tracked_amount, deadline, tracking_start).
+    @Transactional
+    @Query(value = """
+            UPDATE financial_goals g SET last_evaluated_at = :now
+            WHERE g.id IN (
+                SELECT id FROM financial_goals
+                WHERE id > :afterId AND user_id IS NOT NULL
+                    AND (last_evaluated_at IS NULL OR last_evaluated_at < :staleBefore)
+                ORDER BY id
+                LIMIT :chunkSize
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING g.id, g.user_id, g.target_amount, g.current_amount, g.tracked_amount, g.deadline,
+                g.tracking_start
+            """, nativeQuery = true)
+    List<Object[]> claimChunk(@Param("afterId") long afterId, @Param("staleBefore") Instant staleBefore,
+            @Param("now") Instant now, @Param("chunkSize") int chunkSize);
 }
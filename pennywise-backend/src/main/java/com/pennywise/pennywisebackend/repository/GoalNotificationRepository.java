@@ -0,0 +1,42 @@
+package com.pennywise.pennywisebackend.repository;
+
+import com.pennywise.pennywisebackend.model.GoalNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GoalNotificationRepository extends JpaRepository<GoalNotification, Long> {
+
+    List<GoalNotification> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+
+    Optional<GoalNotification> findByIdAndUserId(Long id, Long userId);
+
+    void deleteByGoalId(Long goalId);
+
+    // Upserts a JSON array of {user_id, goal_id, kind, message}; an existing notification keeps its read state
+    // unless its message changed.
+    @Modifying
+    @Query(value = """
+            INSERT INTO goal_notifications (user_id, goal_id, kind, message, created_at)
+            SELECT n.user_id, n.goal_id, n.kind, n.message, :now
+            FROM json_to_recordset(CAST(:notifications AS json))
+                AS n(user_id bigint, goal_id bigint, kind text, message text)
+            ON CONFLICT (goal_id, kind) DO UPDATE
+            SET message = EXCLUDED.message, created_at = EXCLUDED.created_at, read_at = NULL
+            WHERE goal_notifications.message <> EXCLUDED.message
+            """, nativeQuery = true)
+    int upsertAll(@Param("notifications") String notifications, @Param("now") Instant now);
+
+    // Withdraws pending nudges for goals that are back on track.
+    @Modifying
+    @Query("DELETE FROM GoalNotification n WHERE n.kind = :kind AND n.readAt IS NULL AND n.goalId IN :goalIds")
+    int deleteUnreadByKindAndGoalIdIn(@Param("kind") String kind, @Param("goalIds") List<Long> goalIds);
+}
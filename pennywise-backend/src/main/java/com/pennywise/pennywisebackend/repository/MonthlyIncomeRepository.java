@@ -0,0 +1,41 @@
+package com.pennywise.pennywisebackend.repository;
+
+import com.pennywise.pennywisebackend.model.MonthlyIncome;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MonthlyIncomeRepository extends JpaRepository<MonthlyIncome, Long> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO monthly_income (user_id, month_date, amount)
+            VALUES (:userId, :month, :amount)
+            ON CONFLICT (user_id, month_date)
+            DO UPDATE SET amount = monthly_income.amount + EXCLUDED.amount
+            """, nativeQuery = true)
+    void addIncome(@Param("userId") Long userId, @Param("month") LocalDate month, @Param("amount") BigDecimal amount);
+
+    @Query("SELECT m FROM MonthlyIncome m WHERE m.user.id = :userId AND m.month >= :fromMonth AND m.month <= :toMonth")
+    List<MonthlyIncome> findInRange(@Param("userId") Long userId, @Param("fromMonth") LocalDate fromMonth,
+            @Param("toMonth") LocalDate toMonth);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO monthly_income (user_id, month_date, amount)
+            SELECT t.user_id, CAST(date_trunc('month', t.date) AS date), ABS(SUM(t.amount))
+            FROM transactions t
+            WHERE t.type = 'income' AND t.date IS NOT NULL
+            GROUP BY t.user_id, CAST(date_trunc('month', t.date) AS date)
+            ON CONFLICT (user_id, month_date)
+            DO UPDATE SET amount = EXCLUDED.amount
+            """, nativeQuery = true)
+    int backfillFromTransactions();
+}
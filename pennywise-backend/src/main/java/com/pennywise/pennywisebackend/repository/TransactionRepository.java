@@ -2,8 +2,11 @@ package com.pennywise.pennywisebackend.repository;
 
 import com.pennywise.pennywisebackend.model.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -34,6 +37,8 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
     List<Transaction> findByUserIdAndType(Long userId, String type);
 
+    boolean existsByUserIdAndType(Long userId, String type);
+
     List<Transaction> findByUserIdAndDescriptionContainingIgnoreCase(Long userId, String keyword);
 
     List<Transaction> findByUserIdAndCategoryAndTypeAndDateBetween(Long userId, String category, String type,
@@ -42,4 +47,8 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     List<Transaction> findByUserIdAndTypeAndDateBetween(Long userId, String type, LocalDate startDate,
             LocalDate endDate);
 
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t "
+            + "WHERE t.user.id = :userId AND t.category = :category AND t.date >= :fromDate")
+    BigDecimal sumAmountByUserIdAndCategorySince(@Param("userId") Long userId, @Param("category") String category,
+            @Param("fromDate") LocalDate fromDate);
 }
@@ -2,8 +2,13 @@ package com.pennywise.pennywisebackend.repository;
 
 import com.pennywise.pennywisebackend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +19,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByUsername(String username);
 
     Boolean existsByEmail(String email);
+
+    @Query(value = "SELECT CASE WHEN COALESCE(ai_advice_period_start, DATE '1970-01-01') = :periodStart "
+            + "THEN ai_advice_count ELSE 0 END FROM users WHERE id = :id", nativeQuery = true)
+    Optional<Integer> findAiAdviceUsedInPeriod(@Param("id") Long id, @Param("periodStart") LocalDate periodStart);
+
+    // Empty when the quota is used up; a count from an earlier period starts over.
+    @Transactional
+    @Query(value = "UPDATE users SET "
+            + "ai_advice_count = CASE WHEN COALESCE(ai_advice_period_start, DATE '1970-01-01') = :periodStart "
+            + "THEN ai_advice_count + 1 ELSE 1 END, "
+            + "ai_advice_period_start = :periodStart "
+            + "WHERE id = :id AND (COALESCE(ai_advice_period_start, DATE '1970-01-01') <> :periodStart "
+            + "OR ai_advice_count < :limit) "
+            + "RETURNING ai_advice_count", nativeQuery = true)
+    Optional<Integer> reserveAiAdvice(@Param("id") Long id, @Param("periodStart") LocalDate periodStart,
+            @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE users SET ai_advice_count = ai_advice_count - 1 "
+            + "WHERE id = :id AND ai_advice_period_start = :periodStart AND ai_advice_count > 0", nativeQuery = true)
+    int releaseAiAdvice(@Param("id") Long id, @Param("periodStart") LocalDate periodStart);
 }
@@ -0,0 +1,36 @@
+package com.pennywise.pennywisebackend.security;
+
+import com.pennywise.pennywisebackend.model.User;
+import com.pennywise.pennywisebackend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CurrentUser {
+
+    private final UserRepository userRepository;
+
+    public UserPrincipal getPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal)) {
+            throw new AuthenticationCredentialsNotFoundException("No authenticated user for this request.");
+        }
+        return (UserPrincipal) authentication.getPrincipal();
+    }
+
+    public Long getId() {
+        return getPrincipal().getId();
+    }
+
+    public String getUsername() {
+        return getPrincipal().getUsername();
+    }
+
+    public User getReference() {
+        return userRepository.getReferenceById(getId());
+    }
+}
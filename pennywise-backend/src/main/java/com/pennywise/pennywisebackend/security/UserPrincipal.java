@@ -0,0 +1,80 @@
+package com.pennywise.pennywisebackend.security;
+
+import com.pennywise.pennywisebackend.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+public class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final String password;
+    private final String tokenId;
+
+    public UserPrincipal(Long id, String username, String email, String password) {
+        this(id, username, email, password, null);
+    }
+
+    public UserPrincipal(Long id, String username, String email, String password, String tokenId) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.password = password;
+        this.tokenId = tokenId;
+    }
+
+    public static UserPrincipal fromUser(User user) {
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getEmail(), user.getPassword());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of();
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,126 @@
+package com.pennywise.pennywisebackend.security.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pennywise.pennywisebackend.config.RateLimitProperties;
+import com.pennywise.pennywisebackend.security.UserPrincipal;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final RateLimitProperties properties;
+
+    private List<CompiledPolicy> policies;
+    private TokenBucketRegistry registry;
+
+    private record CompiledPolicy(String name, PathPattern pattern, int capacity, long emissionIntervalNanos,
+            RateLimitProperties.KeyBy keyBy) {
+    }
+
+    @PostConstruct
+    public void init() {
+        PathPatternParser parser = new PathPatternParser();
+        List<CompiledPolicy> compiled = new ArrayList<>();
+        for (RateLimitProperties.Policy policy : properties.getPolicies()) {
+            if (policy.getRefillPerMinute() <= 0 || policy.getCapacity() <= 0) {
+                continue;
+            }
+            compiled.add(new CompiledPolicy(policy.getName(), parser.parse(policy.getPattern()),
+                    policy.getCapacity(), TimeUnit.MINUTES.toNanos(1) / policy.getRefillPerMinute(),
+                    policy.getKeyBy()));
+        }
+        this.policies = List.copyOf(compiled);
+        this.registry = new TokenBucketRegistry(properties.getMaxKeys(), properties.getStripes());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CompiledPolicy policy = match(request);
+        if (policy != null) {
+            String key = policy.name() + ':' + subject(request, policy.keyBy());
+            long waitNanos = registry.tryAcquire(key, policy.emissionIntervalNanos(), policy.capacity(),
+                    System.nanoTime());
+            if (waitNanos > 0) {
+                reject(request, response, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Scheduled(fixedDelayString = "${app.ratelimit.evictionIntervalMs:60000}")
+    public void evictIdleBuckets() {
+        registry.evictIdle(System.nanoTime());
+    }
+
+    public int getTrackedKeys() {
+        return registry.size();
+    }
+
+    private CompiledPolicy match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(
+                request.getContextPath().length()));
+        for (CompiledPolicy policy : policies) {
+            if (policy.pattern().matches(path)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    private String subject(HttpServletRequest request, RateLimitProperties.KeyBy keyBy) {
+        if (keyBy == RateLimitProperties.KeyBy.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+                return "u" + principal.getId();
+            }
+        }
+        return "ip" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(429);
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        final Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", 429);
+        body.put("error", "Too Many Requests");
+        body.put("message", "Rate limit exceeded, retry in " + retryAfterSeconds + "s.");
+        body.put("path", request.getServletPath());
+        mapper.writeValue(response.getOutputStream(), body);
+    }
+}
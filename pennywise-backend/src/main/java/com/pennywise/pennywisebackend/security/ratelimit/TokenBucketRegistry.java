@@ -0,0 +1,95 @@
+package com.pennywise.pennywisebackend.security.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// GCRA token buckets: one CAS-updated long per key, in size-capped stripes that evict refilled buckets first.
+public class TokenBucketRegistry {
+
+    private final Stripe[] stripes;
+    private final int maxKeysPerStripe;
+
+    private static final class Stripe {
+        final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        final AtomicInteger size = new AtomicInteger();
+        final AtomicLong overflow = new AtomicLong(System.nanoTime());
+    }
+
+    public TokenBucketRegistry(int maxKeys, int stripeCount) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount));
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.maxKeysPerStripe = Math.max(1, maxKeys / count);
+    }
+
+    // Returns 0 if allowed, otherwise the nanoseconds until a token is available.
+    public long tryAcquire(String key, long emissionIntervalNanos, int capacity, long nowNanos) {
+        long burstTolerance = emissionIntervalNanos * (Math.max(1, capacity) - 1L);
+        AtomicLong bucket = bucketFor(key, nowNanos);
+        while (true) {
+            long tat = bucket.get();
+            long base = Math.max(tat, nowNanos);
+            long allowAt = tat - burstTolerance;
+            if (allowAt - nowNanos > 0) {
+                return allowAt - nowNanos;
+            }
+            if (bucket.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    public void evictIdle(long nowNanos) {
+        for (Stripe stripe : stripes) {
+            evictIdle(stripe, nowNanos);
+        }
+    }
+
+    public int size() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            total += stripe.size.get();
+        }
+        return total;
+    }
+
+    private AtomicLong bucketFor(String key, long nowNanos) {
+        Stripe stripe = stripes[spread(key.hashCode()) & (stripes.length - 1)];
+        AtomicLong bucket = stripe.buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (stripe.size.get() >= maxKeysPerStripe) {
+            evictIdle(stripe, nowNanos);
+            if (stripe.size.get() >= maxKeysPerStripe) {
+                return stripe.overflow;
+            }
+        }
+        // A theoretical arrival time of "now" is a full bucket.
+        AtomicLong created = new AtomicLong(nowNanos);
+        AtomicLong existing = stripe.buckets.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        stripe.size.incrementAndGet();
+        return created;
+    }
+
+    private static void evictIdle(Stripe stripe, long nowNanos) {
+        stripe.buckets.entrySet().removeIf(entry -> {
+            if (entry.getValue().get() - nowNanos <= 0) {
+                stripe.size.decrementAndGet();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
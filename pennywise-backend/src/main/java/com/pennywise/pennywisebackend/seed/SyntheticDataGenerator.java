@@ -0,0 +1,369 @@
+package com.pennywise.pennywisebackend.seed;
+
+import com.pennywise.pennywisebackend.util.ConversionUtil;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+@Component
+@Profile("seed")
+@RequiredArgsConstructor
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String USER_PREFIX = "loadtest-user-";
+    private static final String EMAIL_DOMAIN = "@example.com";
+    private static final int USERS_PER_CHUNK = 50;
+
+    // Monthly frequency, median amount and log-normal spread per expense category. Housing, Bills and
+    // Savings are generated as fixed monthly payments instead.
+    private record SpendModel(String category, double perMonth, double median, double sigma, String[] merchants) {
+    }
+
+    private static final List<SpendModel> SPEND_MODELS = List.of(
+            new SpendModel("Food", 18, 24, 0.6,
+                    new String[] { "Grocery Store", "Cafe", "Restaurant", "Bakery", "Takeaway" }),
+            new SpendModel("Transportation", 8, 14, 0.7, new String[] { "Transit Pass", "Fuel", "Taxi", "Parking" }),
+            new SpendModel("Entertainment", 4, 28, 0.8, new String[] { "Cinema", "Concert", "Streaming", "Games" }),
+            new SpendModel("Shopping", 3, 45, 0.9, new String[] { "Clothing", "Home Goods", "Online Order", "Gifts" }),
+            new SpendModel("Healthcare", 0.6, 60, 1.0, new String[] { "Pharmacy", "Dentist", "Clinic" }),
+            new SpendModel("Education", 0.2, 180, 0.8, new String[] { "Course", "Books" }),
+            new SpendModel("Travel", 0.15, 400, 0.7, new String[] { "Flight", "Hotel", "Car Rental" }),
+            new SpendModel("Technology", 0.3, 120, 1.0, new String[] { "Electronics", "Software", "Accessories" }),
+            new SpendModel("Other", 1.5, 20, 1.0, new String[] { "Miscellaneous", "Fees", "Donation" }));
+
+    private static final List<String> CATEGORIES = List.of("Food", "Transportation", "Housing", "Entertainment",
+            "Shopping", "Healthcare", "Education", "Bills", "Income", "Other", "Savings", "Travel", "Technology");
+
+    private static final String[][] GOALS = {
+            { "Emergency Fund", "Savings" }, { "Summer Vacation", "Travel" }, { "New Laptop", "Technology" },
+            { "Course Tuition", "Education" } };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${app.seed.users:100}")
+    private int users;
+
+    @Value("${app.seed.years:3}")
+    private int years;
+
+    @Value("${app.seed.budgetMonths:12}")
+    private int budgetMonths;
+
+    @Value("${app.seed.seed:42}")
+    private long seed;
+
+    @Value("${app.seed.batchSize:1000}")
+    private int batchSize;
+
+    @Value("${app.seed.password:loadtest123}")
+    private String password;
+
+    @Value("${app.seed.exitWhenDone:false}")
+    private boolean exitWhenDone;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE username LIKE ?",
+                Integer.class, USER_PREFIX + "%");
+        if (existing != null && existing > 0) {
+            logger.info("Found {} seeded users; skipping synthetic data generation", existing);
+        } else {
+            generate();
+        }
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private void generate() {
+        long started = System.nanoTime();
+        ensureCategories();
+        String passwordHash = passwordEncoder.encode(password);
+        LocalDate today = LocalDate.now();
+        Counts counts = new Counts();
+        for (int from = 0; from < users; from += USERS_PER_CHUNK) {
+            int to = Math.min(users, from + USERS_PER_CHUNK);
+            int chunkStart = from;
+            transactionTemplate.executeWithoutResult(status -> seedChunk(chunkStart, to, passwordHash, today, counts));
+            logger.info("Seeded {}/{} users", to, users);
+        }
+        logger.info("Seeded {} users, {} transactions, {} budgets, {} goals, {} daily spend rows in {} ms",
+                users, counts.transactions, counts.budgets, counts.goals, counts.dailySpend,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void ensureCategories() {
+        List<String> present = jdbcTemplate.queryForList("SELECT name FROM categories", String.class);
+        List<Object[]> missing = CATEGORIES.stream()
+                .filter(name -> !present.contains(name))
+                .map(name -> new Object[] { name })
+                .toList();
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO categories (name) VALUES (?)", missing);
+        }
+    }
+
+    private void seedChunk(int from, int to, String passwordHash, LocalDate today, Counts counts) {
+        List<Object[]> userRows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            userRows.add(new Object[] { USER_PREFIX + i, USER_PREFIX + i + EMAIL_DOMAIN, passwordHash });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, ai_advice_count) VALUES (?, ?, ?, 0)",
+                userRows);
+
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, username FROM users WHERE username IN ("
+                        + String.join(", ", Collections.nCopies(userRows.size(), "?")) + ")",
+                (RowCallbackHandler) rs -> ids.put(rs.getString(2), rs.getLong(1)),
+                userRows.stream().map(row -> row[0]).toArray());
+
+        Batch transactions = new Batch("""
+                INSERT INTO transactions (user_id, date, description, category, amount, type)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """);
+        Batch dailySpend = new Batch("INSERT INTO daily_spend (user_id, category, day, amount) VALUES (?, ?, ?, ?)");
+        Batch monthlyIncome = new Batch("INSERT INTO monthly_income (user_id, month_date, amount) VALUES (?, ?, ?)");
+        Batch budgets = new Batch(
+                "INSERT INTO budgets (user_id, category, budget_amount, month_date) VALUES (?, ?, ?, ?)");
+        Batch goals = new Batch("""
+                INSERT INTO financial_goals (user_id, title, target_amount, current_amount, deadline, category,
+                    tracked_amount, tracking_start)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """);
+
+        for (int i = from; i < to; i++) {
+            Long userId = ids.get(USER_PREFIX + i);
+            UserData data = generateUser(new SplittableRandom(seed * 1_000_003L + i), today);
+            for (TransactionRow row : data.transactions) {
+                transactions.add(userId, Date.valueOf(row.date), row.description, row.category, row.amount, row.type);
+            }
+            data.dailySpend.forEach((key, amount) -> dailySpend.add(userId, key.category(), Date.valueOf(key.day()),
+                    amount));
+            data.monthlyIncome.forEach((month, amount) -> monthlyIncome.add(userId, Date.valueOf(month.atDay(1)),
+                    amount));
+            for (Object[] budget : data.budgets) {
+                budgets.add(userId, budget[0], budget[1], budget[2]);
+            }
+            for (Object[] goal : data.goals) {
+                goals.add(userId, goal[0], goal[1], goal[2], goal[3], goal[4], goal[5], goal[6]);
+            }
+            counts.transactions += data.transactions.size();
+            counts.dailySpend += data.dailySpend.size();
+            counts.budgets += data.budgets.size();
+            counts.goals += data.goals.size();
+        }
+        transactions.flush();
+        dailySpend.flush();
+        monthlyIncome.flush();
+        budgets.flush();
+        goals.flush();
+    }
+
+    private UserData generateUser(SplittableRandom random, LocalDate today) {
+        UserData data = new UserData();
+        double salary = Math.round(logNormal(random, 4000, 0.4) / 50) * 50.0;
+        double scale = Math.pow(salary / 4000, 0.7);
+        double rent = Math.round(salary * uniform(random, 0.25, 0.38) / 10) * 10.0;
+        double bills = Math.round(uniform(random, 120, 260));
+        double savingsRate = uniform(random, 0.0, 0.15);
+        boolean twiceMonthly = random.nextInt(3) == 0;
+        double[] propensity = new double[SPEND_MODELS.size()];
+        for (int c = 0; c < propensity.length; c++) {
+            propensity[c] = logNormal(random, 1, 0.3);
+        }
+
+        YearMonth current = YearMonth.from(today);
+        YearMonth first = current.minusYears(years).plusMonths(1);
+        for (YearMonth month = first; !month.isAfter(current); month = month.plusMonths(1)) {
+            double raise = Math.pow(1.03, month.getYear() - first.getYear());
+            if (twiceMonthly) {
+                income(data, month.atDay(1), "Salary (1st half)", round(salary * raise / 2), today);
+                income(data, month.atDay(15), "Salary (2nd half)", round(salary * raise / 2), today);
+            } else {
+                income(data, month.atDay(1), "Salary", round(salary * raise), today);
+            }
+            if (month.getMonthValue() == 12 && random.nextInt(4) == 0) {
+                income(data, month.atDay(20), "Year-end Bonus", round(salary * uniform(random, 0.3, 1.0)), today);
+            }
+            expense(data, month.atDay(1), "Rent", "Housing", round(rent * raise), today);
+            expense(data, month.atDay(5), "Utilities", "Bills", round(bills * uniform(random, 0.85, 1.2)), today);
+            expense(data, month.atDay(12), "Phone and Internet", "Bills", round(80 * scale), today);
+            if (savingsRate > 0.02) {
+                expense(data, month.atDay(2), "Savings Transfer", "Savings", round(salary * raise * savingsRate),
+                        today);
+            }
+            for (int c = 0; c < SPEND_MODELS.size(); c++) {
+                SpendModel model = SPEND_MODELS.get(c);
+                int count = poisson(random, model.perMonth() * seasonality(model.category(), month.getMonthValue())
+                        * propensity[c]);
+                for (int n = 0; n < count; n++) {
+                    LocalDate day = month.atDay(1 + random.nextInt(month.lengthOfMonth()));
+                    String merchant = model.merchants()[random.nextInt(model.merchants().length)];
+                    expense(data, day, merchant, model.category(),
+                            round(logNormal(random, model.median() * scale, model.sigma())), today);
+                }
+            }
+        }
+
+        for (int m = budgetMonths - 1; m >= 0; m--) {
+            LocalDate month = current.minusMonths(m).atDay(1);
+            data.budgets.add(new Object[] { "Housing", round(rent * 1.05), Date.valueOf(month) });
+            data.budgets.add(new Object[] { "Bills", round((bills + 80 * scale) * 1.1), Date.valueOf(month) });
+            for (int c = 0; c < 4; c++) {
+                SpendModel model = SPEND_MODELS.get(c);
+                double typical = model.perMonth() * propensity[c] * model.median() * scale;
+                data.budgets.add(new Object[] { model.category(),
+                        BigDecimal.valueOf(Math.max(10, Math.round(typical * uniform(random, 0.9, 1.3) / 10) * 10)),
+                        Date.valueOf(month) });
+            }
+        }
+
+        int goalCount = random.nextInt(GOALS.length);
+        for (int g = 0; g < goalCount; g++) {
+            String[] goal = GOALS[g];
+            LocalDate trackingStart = current.minusMonths(1 + random.nextInt(18)).atDay(1);
+            BigDecimal tracked = data.contributions(goal[1], trackingStart);
+            BigDecimal opening = round(uniform(random, 0, salary));
+            BigDecimal target = round(Math.max(500, Math.round(salary * uniform(random, 1, 6) / 100) * 100.0));
+            LocalDate deadline = today.plusMonths(random.nextInt(-3, 25));
+            data.goals.add(new Object[] { goal[0], target, opening.add(tracked), Date.valueOf(deadline), goal[1],
+                    tracked, Date.valueOf(trackingStart) });
+        }
+        return data;
+    }
+
+    private static double seasonality(String category, int monthOfYear) {
+        return switch (category) {
+            case "Shopping" -> monthOfYear == 12 ? 2.0 : monthOfYear == 11 ? 1.4 : 1.0;
+            case "Travel" -> monthOfYear == 7 || monthOfYear == 8 ? 4.0 : monthOfYear == 12 ? 2.5 : 1.0;
+            case "Entertainment" -> monthOfYear == 12 ? 1.3 : 1.0;
+            default -> 1.0;
+        };
+    }
+
+    private static void income(UserData data, LocalDate date, String description, BigDecimal amount, LocalDate today) {
+        if (date.isAfter(today)) {
+            return;
+        }
+        data.transactions.add(new TransactionRow(date, description, "Income", amount, "income"));
+        data.monthlyIncome.merge(YearMonth.from(date), amount, BigDecimal::add);
+    }
+
+    private static void expense(UserData data, LocalDate date, String description, String category, BigDecimal amount,
+            LocalDate today) {
+        if (date.isAfter(today)) {
+            return;
+        }
+        data.transactions.add(new TransactionRow(date, description, category, amount.negate(), "expense"));
+        data.dailySpend.merge(new DayKey(category, date), amount, BigDecimal::add);
+    }
+
+    private static double logNormal(SplittableRandom random, double median, double sigma) {
+        return median * Math.exp(sigma * gaussian(random));
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    private static double uniform(SplittableRandom random, double from, double to) {
+        return from + (to - from) * random.nextDouble();
+    }
+
+    private static int poisson(SplittableRandom random, double mean) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    private static BigDecimal round(double amount) {
+        return ConversionUtil.money(Math.max(0.01, amount));
+    }
+
+    private record TransactionRow(LocalDate date, String description, String category, BigDecimal amount,
+            String type) {
+    }
+
+    private record DayKey(String category, LocalDate day) {
+    }
+
+    private static class UserData {
+        final List<TransactionRow> transactions = new ArrayList<>();
+        final Map<DayKey, BigDecimal> dailySpend = new HashMap<>();
+        final Map<YearMonth, BigDecimal> monthlyIncome = new HashMap<>();
+        final List<Object[]> budgets = new ArrayList<>();
+        final List<Object[]> goals = new ArrayList<>();
+
+        // Mirrors GoalProgressService: expenses into the goal's category count as contributions.
+        BigDecimal contributions(String category, LocalDate since) {
+            return transactions.stream()
+                    .filter(t -> t.category().equals(category) && !t.date().isBefore(since))
+                    .map(t -> t.amount().negate())
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+    }
+
+    private static class Counts {
+        long transactions;
+        long dailySpend;
+        long budgets;
+        long goals;
+    }
+
+    private class Batch {
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        Batch(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
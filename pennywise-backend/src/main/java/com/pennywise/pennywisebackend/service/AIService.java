@@ -1,112 +1,325 @@
 package com.pennywise.pennywisebackend.service;
 
-import com.pennywise.pennywisebackend.dto.DashboardSummaryDTO;
-import com.pennywise.pennywisebackend.model.User;
-import com.pennywise.pennywisebackend.repository.UserRepository;
-import com.pennywise.pennywisebackend.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.io.IOException;
 import java.time.LocalDate;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 @RequiredArgsConstructor
 public class AIService {
 
-    private final UserRepository userRepository;
-    private final TransactionRepository transactionRepository;
-    private final DashboardService dashboardService;
+    private static final Logger logger = LoggerFactory.getLogger(AIService.class);
 
-    @Value("${openai.api.key}")
-    private String openaiApiKey;
+    private final DataReadinessService dataReadinessService;
+    private final AiPromptBuilder aiPromptBuilder;
+    private final PlatformTransactionManager transactionManager;
+    private final AiAdviceCache aiAdviceCache;
+    private final AiGateway aiGateway;
+    private final AiQuotaService aiQuotaService;
 
-    private static final String OPENAI_API_URL = "https://api.openai.com/v1/chat/completions";
-    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private TransactionTemplate readTransaction;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    @Transactional
-    public Map<String, Object> generateAiAdviceForUser(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+    // Either a prompt to send, or a ready response (error or cached advice) that needs no upstream call.
+    private record PreparedAdvice(String prompt, String fingerprint, int used, Map<String, Object> response) {
+    }
+
+    @PostConstruct
+    public void init() {
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+    }
 
-        int currentCount = user.getAiAdviceCount() == null ? 0 : user.getAiAdviceCount();
-        if (currentCount >= 3) {
-            return Map.of("error", "AI advice generation limit reached.", "generationsLeft", 0);
+    public CompletableFuture<Map<String, Object>> generateAiAdviceForUser(Long userId) {
+        return aiGateway.coalesce("advice:" + userId, () -> generate(userId));
+    }
+
+    private CompletableFuture<Map<String, Object>> generate(Long userId) {
+        PreparedAdvice prepared = readTransaction.execute(status -> prepare(userId));
+        if (prepared.response() != null) {
+            return CompletableFuture.completedFuture(prepared.response());
+        }
+        if (!aiGateway.isConfigured()) {
+            return CompletableFuture.completedFuture(notConfiguredResponse(prepared.used()));
         }
+        Optional<AiQuotaService.Reservation> reservation = aiQuotaService.tryReserve(userId);
+        if (reservation.isEmpty()) {
+            return CompletableFuture.completedFuture(limitReachedResponse());
+        }
+        AiQuotaService.Reservation reserved = reservation.get();
 
-        if (!hasSufficientData(userId)) {
-            return Map.of("error",
-                    "Not enough financial data to generate advice. Please add some income and expense transactions.",
-                    "generationsLeft", 3 - currentCount);
+        return aiGateway.postChatCompletion(buildRequestBody(prepared.prompt(), false))
+                .thenApply(response -> handleResponse(reserved, prepared.fingerprint(), response))
+                .exceptionally(e -> {
+                    aiQuotaService.release(reserved);
+                    return failureResponse(e, reserved.used() - 1);
+                });
+    }
+
+    public SseEmitter streamAiAdviceForUser(Long userId) {
+        SseEmitter emitter = new SseEmitter(aiGateway.getStreamTimeoutMs() + 5000);
+        PreparedAdvice prepared = readTransaction.execute(status -> prepare(userId));
+        if (prepared.response() != null) {
+            sendWholeResponse(emitter, prepared.response());
+            return emitter;
+        }
+        if (!aiGateway.isConfigured()) {
+            sendWholeResponse(emitter, notConfiguredResponse(prepared.used()));
+            return emitter;
         }
+        Optional<AiQuotaService.Reservation> reservation = aiQuotaService.tryReserve(userId);
+        if (reservation.isEmpty()) {
+            sendWholeResponse(emitter, limitReachedResponse());
+            return emitter;
+        }
+
+        AdviceStream stream = new AdviceStream(reservation.get(), prepared, emitter);
+        emitter.onTimeout(stream::cancel);
+        emitter.onError(e -> stream.cancel());
+        emitter.onCompletion(stream::cancel);
+        stream.start(aiGateway.streamChatCompletion(buildRequestBody(prepared.prompt(), true), stream));
+        return emitter;
+    }
+
+    private String buildRequestBody(String prompt, boolean stream) {
+        return String.format(
+                "{\"model\": \"gpt-3.5-turbo\", \"messages\": [{\"role\": \"user\", \"content\": \"%s\"}], \"max_tokens\": 200%s}",
+                escapeJson(prompt), stream ? ", \"stream\": true" : "");
+    }
 
-        String prompt = constructPromptForUser(userId);
+    private Map<String, Object> notConfiguredResponse(int used) {
+        logger.error("OpenAI API key is missing or is a placeholder; cannot generate AI advice");
+        return Map.of("error", "AI service not configured by administrator (API key missing).",
+                "generationsLeft", aiQuotaService.remainingAfter(used));
+    }
+
+    private Map<String, Object> limitReachedResponse() {
+        return Map.of("error", "AI advice generation limit reached.", "generationsLeft", 0);
+    }
 
+    private Map<String, Object> failureResponse(Throwable e, int used) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof RejectedExecutionException) {
+            return Map.of("error", "AI service is busy right now. Please try again shortly.",
+                    "generationsLeft", aiQuotaService.remainingAfter(used));
+        }
+        logger.error("Error calling OpenAI API: {}", cause.toString());
+        return Map.of("error", "Error communicating with AI service.",
+                "generationsLeft", aiQuotaService.remainingAfter(used));
+    }
+
+    // Replays a ready response (cached advice or an error) in the same event shape as a live stream.
+    private void sendWholeResponse(SseEmitter emitter, Map<String, Object> response) {
         try {
+            if (response.containsKey("advice")) {
+                emitter.send(SseEmitter.event().name("token").data(Map.of("content", response.get("advice"))));
+                Map<String, Object> done = new HashMap<>(response);
+                done.remove("advice");
+                emitter.send(SseEmitter.event().name("done").data(done));
+            } else {
+                emitter.send(SseEmitter.event().name("error").data(response));
+            }
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private PreparedAdvice prepare(Long userId) {
+        int used = aiQuotaService.used(userId);
+
+        if (!dataReadinessService.hasIncomeAndExpenses(userId)) {
+            return new PreparedAdvice(null, null, used, Map.of("error",
+                    "Not enough financial data to generate advice. Please add some income and expense transactions.",
+                    "generationsLeft", aiQuotaService.remainingAfter(used)));
+        }
 
-            if (openaiApiKey == null || openaiApiKey.isEmpty()
-                    || openaiApiKey.equals("YOUR_OPENAI_API_KEY_PLACEHOLDER")) {
-                System.err.println(
-                        "AIService: OpenAI API Key is missing or is a placeholder. Cannot generate AI advice.");
-                return Map.of("error", "AI service not configured by administrator (API key missing).",
-                        "generationsLeft", 3 - currentCount);
+        AiPromptBuilder.Prompt prompt = aiPromptBuilder.build(userId, LocalDate.now());
+        String fingerprint = aiAdviceCache.fingerprint(prompt.profile());
+        // Cached advice costs nothing, so it is served even once the quota is used up.
+        Optional<String> cached = aiAdviceCache.get(fingerprint);
+        if (cached.isPresent()) {
+            return new PreparedAdvice(null, fingerprint, used, Map.of("advice", cached.get(),
+                    "generationsLeft", aiQuotaService.remainingAfter(used), "cached", true));
+        }
+
+        // Cheap early exit; the authoritative check is the reservation made before the upstream call.
+        if (used >= aiQuotaService.getLimit()) {
+            return new PreparedAdvice(null, fingerprint, used, limitReachedResponse());
+        }
+        return new PreparedAdvice(prompt.text(), fingerprint, used, null);
+    }
+
+    private Map<String, Object> handleResponse(AiQuotaService.Reservation reservation, String fingerprint,
+            HttpResponse<String> response) {
+        if (response.statusCode() == 200) {
+            String responseBody = response.body();
+            String adviceFromAI = parseAdviceFromOpenAIResponse(responseBody);
+
+            if (adviceFromAI != null && !adviceFromAI.isEmpty()) {
+                aiAdviceCache.put(fingerprint, adviceFromAI);
+                return Map.of("advice", adviceFromAI,
+                        "generationsLeft", aiQuotaService.remainingAfter(reservation.used()));
+            } else {
+                logger.error("Failed to parse advice from OpenAI response, reservation released (body was: {}...)",
+                        responseBody.substring(0, Math.min(responseBody.length(), 500)));
+                aiQuotaService.release(reservation);
+                return Map.of("error", "AI could not extract advice at this moment. Please try again later.",
+                        "generationsLeft", aiQuotaService.remainingAfter(reservation.used() - 1));
             }
+        } else {
+            logger.error("OpenAI API error - status: {}, body: {}...", response.statusCode(),
+                    response.body().substring(0, Math.min(response.body().length(), 500)));
+            aiQuotaService.release(reservation);
+            return Map.of("error", "Failed to get advice from AI service (Status: " + response.statusCode() + ").",
+                    "generationsLeft", aiQuotaService.remainingAfter(reservation.used() - 1));
+        }
+    }
 
-            String requestBody = String.format(
-                    "{\"model\": \"gpt-3.5-turbo\", \"messages\": [{\"role\": \"user\", \"content\": \"%s\"}], \"max_tokens\": 200}",
-                    escapeJson(prompt));
+    private final class AdviceStream implements Flow.Subscriber<String> {
 
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(OPENAI_API_URL))
-                    .header("Content-Type", "application/json")
-                    .header("Authorization", "Bearer " + openaiApiKey)
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                    .build();
+        private final AiQuotaService.Reservation reservation;
+        private final PreparedAdvice prepared;
+        private final SseEmitter emitter;
+        private final StringBuilder advice = new StringBuilder();
+        private final StringBuilder rawBody = new StringBuilder();
+        private volatile Flow.Subscription subscription;
+        private volatile CompletableFuture<HttpResponse<Void>> upstream;
+        private volatile boolean cancelled;
+        private volatile boolean doneReceived;
 
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        AdviceStream(AiQuotaService.Reservation reservation, PreparedAdvice prepared, SseEmitter emitter) {
+            this.reservation = reservation;
+            this.prepared = prepared;
+            this.emitter = emitter;
+        }
 
-            if (response.statusCode() == 200) {
-                String responseBody = response.body();
-                String adviceFromAI = parseAdviceFromOpenAIResponse(responseBody);
+        void start(CompletableFuture<HttpResponse<Void>> call) {
+            upstream = call;
+            if (cancelled) {
+                call.cancel(true);
+            }
+            call.whenComplete(this::finish);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(1);
+            }
+        }
 
-                if (adviceFromAI != null && !adviceFromAI.isEmpty()) {
-                    user.setAiAdviceCount(currentCount + 1);
-                    userRepository.save(user);
-                    return Map.of("advice", adviceFromAI, "generationsLeft", 3 - user.getAiAdviceCount());
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("data:")) {
+                String data = line.substring(5).trim();
+                if (data.equals("[DONE]")) {
+                    doneReceived = true;
                 } else {
-                    System.err.println("AIService: Failed to parse advice from OpenAI response (body was: "
-                            + responseBody.substring(0, Math.min(responseBody.length(), 500))
-                            + "...). Count not incremented.");
-                    return Map.of("error", "AI could not extract advice at this moment. Please try again later.",
-                            "generationsLeft", 3 - currentCount);
+                    forwardDelta(data);
                 }
+            } else if (rawBody.length() < 500) {
+                rawBody.append(line);
+            }
+            if (!cancelled) {
+                subscription.request(1);
+            }
+        }
+
+        private void forwardDelta(String data) {
+            String content;
+            try {
+                content = objectMapper.readTree(data).path("choices").path(0).path("delta").path("content").asText("");
+            } catch (IOException e) {
+                logger.warn("Skipping unparseable stream chunk: {}", e.getMessage());
+                return;
+            }
+            if (content.isEmpty()) {
+                return;
+            }
+            advice.append(content);
+            try {
+                emitter.send(SseEmitter.event().name("token").data(Map.of("content", content)));
+            } catch (IOException | IllegalStateException e) {
+                // The browser went away; stop reading so the abandoned generation is not charged.
+                cancel();
+            }
+        }
+
+        // Both outcomes reach finish() through the response future.
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        // Hands back the gateway permit and, through finish(), the reservation without waiting for the timeout.
+        void cancel() {
+            cancelled = true;
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+            CompletableFuture<HttpResponse<Void>> call = upstream;
+            if (call != null) {
+                call.cancel(true);
+            }
+        }
+
+        void finish(HttpResponse<Void> response, Throwable error) {
+            int usedWithout = reservation.used() - 1;
+            Map<String, Object> outcome;
+            if (error != null && !cancelled) {
+                outcome = failureResponse(error, usedWithout);
+            } else if (error == null && response.statusCode() != 200) {
+                logger.error("OpenAI API error - status: {}, body: {}...", response.statusCode(), rawBody);
+                outcome = Map.of(
+                        "error", "Failed to get advice from AI service (Status: " + response.statusCode() + ").",
+                        "generationsLeft", aiQuotaService.remainingAfter(usedWithout));
+            } else if (cancelled || !doneReceived || advice.length() == 0) {
+                outcome = Map.of("error", "AI could not finish the advice at this moment. Please try again later.",
+                        "generationsLeft", aiQuotaService.remainingAfter(usedWithout));
             } else {
-                System.err.println("OpenAI API Error - Status: " + response.statusCode() + ", Body: "
-                        + response.body().substring(0, Math.min(response.body().length(), 500)) + "...");
-                return Map.of("error", "Failed to get advice from AI service (Status: " + response.statusCode() + ").",
-                        "generationsLeft", 3 - currentCount);
-            }
-
-        } catch (IOException | InterruptedException e) {
-            Thread.currentThread().interrupt();
-            System.err.println("AIService: Error calling OpenAI API: " + e.getMessage());
-            return Map.of("error", "Error communicating with AI service.", "generationsLeft", 3 - currentCount);
-        } catch (Exception e) {
-            System.err.println("AIService: Unexpected error during AI advice generation: " + e.getMessage());
-            e.printStackTrace();
-            return Map.of("error", "An unexpected error occurred while generating advice.", "generationsLeft",
-                    3 - currentCount);
+                aiAdviceCache.put(prepared.fingerprint(), advice.toString());
+                outcome = Map.of("generationsLeft", aiQuotaService.remainingAfter(reservation.used()));
+            }
+            if (outcome.containsKey("error")) {
+                aiQuotaService.release(reservation);
+            }
+
+            if (cancelled) {
+                emitter.complete();
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(outcome.containsKey("error") ? "error" : "done").data(outcome));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
         }
     }
 
@@ -132,54 +345,11 @@ public class AIService {
                     return contentNode.asText();
                 }
             }
-            System.err.println("AIService: 'content' field not found in the expected path in OpenAI response.");
+            logger.error("'content' field not found in the expected path in OpenAI response");
             return null;
         } catch (IOException e) {
-            System.err.println("AIService: IOException while parsing OpenAI response: " + e.getMessage());
+            logger.error("IOException while parsing OpenAI response: {}", e.getMessage());
             return null;
         }
     }
-
-    private boolean hasSufficientData(Long userId) {
-        List<com.pennywise.pennywisebackend.model.Transaction> incomeTransactions = transactionRepository
-                .findByUserIdAndType(userId, "income");
-        List<com.pennywise.pennywisebackend.model.Transaction> expenseTransactions = transactionRepository
-                .findByUserIdAndType(userId, "expense");
-
-        return !incomeTransactions.isEmpty() && !expenseTransactions.isEmpty();
-    }
-
-    private String constructPromptForUser(Long userId) {
-        DashboardSummaryDTO summary = dashboardService.getDashboardSummary(LocalDate.now());
-
-        StringBuilder promptBuilder = new StringBuilder();
-        promptBuilder.append(
-                "You are a financial advisor. Analyze the following specific financial data for a user and provide three distinct, actionable financial advice bullet points. ");
-        promptBuilder.append(
-                "Each piece of advice MUST directly relate to and reference the provided figures where appropriate. Aim for concrete suggestions.\n\n");
-
-        promptBuilder.append("User's Financial Data (Current Month):\n");
-        promptBuilder.append(String.format("- Monthly Income: $%.2f\n", summary.getTotalIncome()));
-        promptBuilder.append(String.format("- Monthly Expenses: $%.2f\n", summary.getTotalExpenses()));
-
-        java.math.BigDecimal netMonthlyCashFlow = summary.getTotalIncome().subtract(summary.getTotalExpenses());
-        promptBuilder.append(String.format("- Net Monthly Cash Flow: $%.2f\n", netMonthlyCashFlow));
-
-        promptBuilder.append(String.format("- Savings Rate: %.1f%%\n", summary.getSavingsRate()));
-        promptBuilder.append(String.format("- Lifetime Net Worth: $%.2f\n", summary.getNetWorth()));
-        if (summary.getNetWorthChangePercentage() != null) {
-            promptBuilder.append(String.format("- Net Worth Month-over-Month Change: %.1f%%\n",
-                    summary.getNetWorthChangePercentage()));
-        }
-
-        promptBuilder.append(
-                "\nBased *specifically* on these numbers, provide your three bullet points of advice below. For example, if income is $5000 and expenses are $4500 (leaving $500 net cash flow), and savings rate is 10%, you might suggest ways to increase that $500 or reduce specific (if known) expenses. If Net Worth MoM change is negative, address potential reasons or concerns.\n");
-        promptBuilder.append("Requested Advice (exactly three bullet points directly referencing the data above):\n");
-        promptBuilder.append("- [Advice point 1 related to the user's specific data]\n");
-        promptBuilder.append("- [Advice point 2 related to the user's specific data]\n");
-        promptBuilder.append("- [Advice point 3 related to the user's specific data]\n");
-        promptBuilder.append("\nBe encouraging. Do not ask questions. Focus on data-driven advice.");
-
-        return promptBuilder.toString();
-    }
 }
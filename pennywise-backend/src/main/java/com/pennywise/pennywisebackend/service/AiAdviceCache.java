@@ -0,0 +1,62 @@
+package com.pennywise.pennywisebackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+
+@Component
+public class AiAdviceCache implements MeterBinder {
+
+    private final Cache<String, String> cache;
+
+    public AiAdviceCache(@Value("${app.ai.cache.ttlMinutes:1440}") long ttlMinutes,
+            @Value("${app.ai.cache.maxSize:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    public String fingerprint(String profile) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(profile.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public Optional<String> get(String fingerprint) {
+        return Optional.ofNullable(cache.getIfPresent(fingerprint));
+    }
+
+    public void put(String fingerprint, String advice) {
+        cache.put(fingerprint, advice);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "aiAdvice");
+    }
+}
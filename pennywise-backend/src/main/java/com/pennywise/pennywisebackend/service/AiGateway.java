@@ -0,0 +1,325 @@
+package com.pennywise.pennywisebackend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class AiGateway {
+
+    private static final Logger logger = LoggerFactory.getLogger(AiGateway.class);
+
+    @Value("${openai.api.key}")
+    private String openaiApiKey;
+
+    @Value("${openai.api.url:https://api.openai.com/v1/chat/completions}")
+    private String openaiApiUrl;
+
+    @Value("${openai.api.connectTimeoutMs:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${openai.api.requestTimeoutMs:20000}")
+    private long requestTimeoutMs;
+
+    @Value("${openai.api.streamTimeoutMs:60000}")
+    private long streamTimeoutMs;
+
+    @Value("${openai.gateway.maxConcurrentCalls:8}")
+    private int maxConcurrentCalls;
+
+    @Value("${openai.gateway.breaker.windowSize:20}")
+    private int windowSize;
+
+    @Value("${openai.gateway.breaker.minimumCalls:10}")
+    private int minimumCalls;
+
+    @Value("${openai.gateway.breaker.failureRateThreshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${openai.gateway.breaker.openDurationMs:30000}")
+    private long openDurationMs;
+
+    private final MeterRegistry meterRegistry;
+
+    private HttpClient httpClient;
+    private Semaphore bulkhead;
+    private CircuitBreaker circuitBreaker;
+    private final Map<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        bulkhead = new Semaphore(maxConcurrentCalls);
+        circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openDurationMs);
+
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("ai.upstream.circuit.state", circuitBreaker, b -> b.state() == state ? 1 : 0)
+                    .tag("state", state.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("ai.upstream.permits.available", bulkhead, Semaphore::availablePermits)
+                .register(meterRegistry);
+    }
+
+    public boolean isConfigured() {
+        return openaiApiKey != null && !openaiApiKey.isEmpty()
+                && !openaiApiKey.equals("YOUR_OPENAI_API_KEY_PLACEHOLDER");
+    }
+
+    public CompletableFuture<HttpResponse<String>> postChatCompletion(String requestBody) {
+        return call("completion", requestBody, HttpResponse.BodyHandlers.ofString(), requestTimeoutMs);
+    }
+
+    // Cancelling the returned future aborts the exchange.
+    public CompletableFuture<HttpResponse<Void>> streamChatCompletion(String requestBody,
+            Flow.Subscriber<String> lineSubscriber) {
+        return call("stream", requestBody, HttpResponse.BodyHandlers.fromLineSubscriber(lineSubscriber),
+                streamTimeoutMs);
+    }
+
+    public long getStreamTimeoutMs() {
+        return streamTimeoutMs;
+    }
+
+    // 429 and 5xx count as failures for the breaker but are still returned to the caller.
+    private <T> CompletableFuture<HttpResponse<T>> call(String kind, String requestBody,
+            HttpResponse.BodyHandler<T> bodyHandler, long timeoutMs) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            meterRegistry.counter("ai.upstream.rejections", "reason", "circuit_open").increment();
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("AI upstream circuit is open"));
+        }
+        if (!bulkhead.tryAcquire()) {
+            circuitBreaker.releasePermission();
+            meterRegistry.counter("ai.upstream.rejections", "reason", "bulkhead_full").increment();
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Too many concurrent AI calls"));
+        }
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(openaiApiUrl))
+                .timeout(Duration.ofMillis(timeoutMs))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + openaiApiKey)
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+                .build();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<HttpResponse<T>> exchange;
+        try {
+            exchange = httpClient.sendAsync(request, bodyHandler);
+        } catch (RuntimeException e) {
+            bulkhead.release();
+            circuitBreaker.record(false);
+            record(sample, kind, null, e);
+            return CompletableFuture.failedFuture(e);
+        }
+        // The permit is held until the HTTP client has really aborted a timed-out call. The outcome is recorded
+        // once, by whichever future finishes first, before the caller sees the result.
+        AtomicBoolean recorded = new AtomicBoolean();
+        CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        exchange.whenComplete((response, error) -> {
+            bulkhead.release();
+            if (recorded.compareAndSet(false, true)) {
+                recordOutcome(sample, kind, response, error);
+            }
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(response);
+            }
+        });
+        result.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).whenComplete((response, error) -> {
+            if (error != null) {
+                if (recorded.compareAndSet(false, true)) {
+                    recordOutcome(sample, kind, null, error);
+                }
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private void recordOutcome(Timer.Sample sample, String kind, HttpResponse<?> response, Throwable error) {
+        if (error instanceof CancellationException) {
+            // Cancelled by the caller; says nothing about upstream health.
+            circuitBreaker.releasePermission();
+            record(sample, kind, null, error);
+            return;
+        }
+        boolean success = error == null && response.statusCode() != 429 && response.statusCode() < 500;
+        if (!success) {
+            logger.warn("AI upstream call failed: {}", error != null ? error.toString()
+                    : "status " + response.statusCode());
+        }
+        circuitBreaker.record(success);
+        record(sample, kind, response, error);
+    }
+
+    private void record(Timer.Sample sample, String kind, HttpResponse<?> response, Throwable error) {
+        String status = response != null ? String.valueOf(response.statusCode()) : "NONE";
+        String outcome = response != null ? Outcome.forStatus(response.statusCode()).name() : "UNKNOWN";
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+        String exception = cause == null ? "none"
+                : cause instanceof TimeoutException || cause instanceof HttpTimeoutException ? "timeout"
+                : cause instanceof CancellationException ? "cancelled"
+                : cause.getClass().getSimpleName();
+        sample.stop(meterRegistry.timer("ai.upstream.requests",
+                "call", kind, "status", status, "outcome", outcome, "exception", exception));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> coalesce(String key, Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> mine = new CompletableFuture<>();
+        CompletableFuture<?> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return (CompletableFuture<T>) existing;
+        }
+        try {
+            call.get().whenComplete((result, error) -> {
+                inFlight.remove(key, mine);
+                if (error != null) {
+                    mine.completeExceptionally(error);
+                } else {
+                    mine.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+        }
+        return mine;
+    }
+
+    public String getCircuitState() {
+        return circuitBreaker.state().name();
+    }
+
+    public int getAvailableCallPermits() {
+        return bulkhead.availablePermits();
+    }
+
+    static final class CircuitBreaker {
+
+        enum State { CLOSED, OPEN, HALF_OPEN }
+
+        private final boolean[] outcomes;
+        private final int minimumCalls;
+        private final double failureRateThreshold;
+        private final long openDurationMs;
+
+        private State state = State.CLOSED;
+        private int recorded;
+        private int next;
+        private int failures;
+        private long openedAt;
+        private boolean trialInFlight;
+
+        CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openDurationMs) {
+            this.outcomes = new boolean[Math.max(1, windowSize)];
+            this.minimumCalls = Math.max(1, Math.min(minimumCalls, outcomes.length));
+            this.failureRateThreshold = failureRateThreshold;
+            this.openDurationMs = openDurationMs;
+        }
+
+        synchronized boolean tryAcquirePermission() {
+            if (state == State.OPEN) {
+                if (System.currentTimeMillis() - openedAt < openDurationMs) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = false;
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+            }
+            return true;
+        }
+
+        // Gives back a permission that was granted but never used for a call.
+        synchronized void releasePermission() {
+            if (state == State.HALF_OPEN) {
+                trialInFlight = false;
+            }
+        }
+
+        synchronized void record(boolean success) {
+            if (state == State.HALF_OPEN) {
+                trialInFlight = false;
+                if (success) {
+                    reset();
+                } else {
+                    open();
+                }
+                return;
+            }
+            if (state == State.OPEN) {
+                return;
+            }
+            if (recorded == outcomes.length) {
+                if (!outcomes[next]) {
+                    failures--;
+                }
+            } else {
+                recorded++;
+            }
+            outcomes[next] = success;
+            if (!success) {
+                failures++;
+            }
+            next = (next + 1) % outcomes.length;
+            if (recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+                open();
+            }
+        }
+
+        synchronized State state() {
+            return state;
+        }
+
+        private void open() {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+
+        private void reset() {
+            state = State.CLOSED;
+            recorded = 0;
+            next = 0;
+            failures = 0;
+        }
+    }
+}
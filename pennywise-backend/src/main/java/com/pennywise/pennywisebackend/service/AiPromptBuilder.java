@@ -0,0 +1,275 @@
+package com.pennywise.pennywisebackend.service;
+
+import com.pennywise.pennywisebackend.model.Budget;
+import com.pennywise.pennywisebackend.model.MonthlyIncome;
+import com.pennywise.pennywisebackend.repository.BudgetRepository;
+import com.pennywise.pennywisebackend.repository.DailySpendRepository;
+import com.pennywise.pennywisebackend.repository.MonthlyIncomeRepository;
+import com.pennywise.pennywisebackend.util.ConversionUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class AiPromptBuilder {
+
+    private static final int TREND_MONTHS = 6;
+    private static final int TOP_CATEGORIES = 5;
+    // Rough English average; close enough to keep prompts within budget without a tokenizer.
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH);
+
+    private static final String INTRO = "You are a financial advisor. Analyze the following financial data for a "
+            + "user and provide three distinct, actionable financial advice bullet points. Each piece of advice "
+            + "MUST reference the figures provided. Figures are rounded.\n";
+    private static final String OUTRO = "\nGive exactly three bullet points, each tied to specific figures above "
+            + "(for example an over-budget category, an unusual spike, or a weak savings rate). Be encouraging. "
+            + "Do not ask questions.";
+
+    private final DailySpendRepository dailySpendRepository;
+    private final MonthlyIncomeRepository monthlyIncomeRepository;
+    private final BudgetRepository budgetRepository;
+
+    @Value("${app.ai.prompt.maxTokens:600}")
+    private int maxTokens;
+
+    // profile is the cache key: banded figures without dates, so similar users share it for the whole month.
+    public record Prompt(String text, String profile) {
+    }
+
+    public Prompt build(Long userId, LocalDate today) {
+        LocalDate currentMonth = today.withDayOfMonth(1);
+        LocalDate firstMonth = currentMonth.minusMonths(TREND_MONTHS);
+
+        // Index 0 is the oldest trend month, index TREND_MONTHS is the current (partial) month.
+        Map<String, BigDecimal[]> spendByCategory = new HashMap<>();
+        BigDecimal[] expenses = zeros();
+        for (Object[] row : dailySpendRepository.sumByCategoryAndMonth(userId, firstMonth, today)) {
+            int index = monthIndex(firstMonth, ConversionUtil.toLocalDate(row[1]));
+            BigDecimal amount = (BigDecimal) row[2];
+            spendByCategory.computeIfAbsent((String) row[0], c -> zeros())[index] = amount;
+            expenses[index] = expenses[index].add(amount);
+        }
+        BigDecimal[] income = zeros();
+        for (MonthlyIncome monthlyIncome : monthlyIncomeRepository.findInRange(userId, firstMonth, currentMonth)) {
+            income[monthIndex(firstMonth, monthlyIncome.getMonth())] = monthlyIncome.getAmount();
+        }
+        List<Budget> budgets = budgetRepository.findByUserIdAndMonth(userId, currentMonth);
+        List<Anomaly> anomalies = anomalies(spendByCategory, today);
+
+        PromptBudget prompt = new PromptBudget(maxTokens * CHARS_PER_TOKEN - INTRO.length() - OUTRO.length());
+        prompt.section("Current month to date (" + MONTH_LABEL.format(currentMonth) + ", day "
+                + today.getDayOfMonth() + " of " + today.lengthOfMonth() + ")",
+                currentMonthLines(income, expenses));
+        prompt.section("Budgets this month", budgetLines(budgets, spendByCategory));
+        prompt.section("Top spending categories this month", topCategoryLines(spendByCategory, expenses));
+        prompt.section("Unusual spending this month", anomalies.stream()
+                .map(a -> a.category() + ": on pace for " + money(BigDecimal.valueOf(a.pace())) + " vs usual "
+                        + money(BigDecimal.valueOf(a.mean())))
+                .toList());
+        prompt.section("Last " + TREND_MONTHS + " full months", trendLines(income, expenses, firstMonth));
+        return new Prompt(INTRO + prompt + OUTRO, profile(income, expenses, spendByCategory, budgets, anomalies));
+    }
+
+    private String profile(BigDecimal[] income, BigDecimal[] expenses, Map<String, BigDecimal[]> spendByCategory,
+            List<Budget> budgets, List<Anomaly> anomalies) {
+        BigDecimal averageIncome = average(income);
+        BigDecimal averageExpenses = average(expenses);
+        StringBuilder profile = new StringBuilder()
+                .append("income=").append(band(averageIncome))
+                .append(";expenses=").append(band(averageExpenses))
+                .append(";savings=").append(averageIncome.signum() > 0
+                        ? Math.round(averageIncome.subtract(averageExpenses).doubleValue()
+                                / averageIncome.doubleValue() * 10) : "n/a")
+                .append(";top=").append(spendByCategory.entrySet().stream()
+                        .sorted(Comparator.comparing((Map.Entry<String, BigDecimal[]> e) -> average(e.getValue()))
+                                .reversed().thenComparing(Map.Entry::getKey))
+                        .limit(3)
+                        .map(Map.Entry::getKey)
+                        .toList())
+                .append(";budgets=");
+        budgets.stream()
+                .sorted(Comparator.comparing(Budget::getCategory))
+                .forEach(budget -> {
+                    BigDecimal[] spend = spendByCategory.get(budget.getCategory());
+                    double spent = spend != null ? spend[TREND_MONTHS].doubleValue() : 0;
+                    double limit = budget.getBudgetAmount().doubleValue();
+                    profile.append(budget.getCategory()).append(':')
+                            .append(spent > limit ? "over" : spent >= limit * 0.8 ? "near" : "ok").append(',');
+                });
+        profile.append(";anomalies=").append(anomalies.stream().map(Anomaly::category).toList());
+        return profile.toString();
+    }
+
+    // Full trend months only; the partial current month would move the average every day.
+    private static BigDecimal average(BigDecimal[] values) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < TREND_MONTHS; i++) {
+            total = total.add(values[i]);
+        }
+        return total.divide(BigDecimal.valueOf(TREND_MONTHS), 2, RoundingMode.HALF_UP);
+    }
+
+    // Bands 50% wide: $1,000 and $1,400 share one, $2,000 does not.
+    private static long band(BigDecimal value) {
+        return value.signum() <= 0 ? -1 : (long) Math.floor(Math.log(value.doubleValue()) / Math.log(1.5));
+    }
+
+    private List<String> currentMonthLines(BigDecimal[] income, BigDecimal[] expenses) {
+        BigDecimal monthIncome = income[TREND_MONTHS];
+        BigDecimal monthExpenses = expenses[TREND_MONTHS];
+        List<String> lines = new ArrayList<>();
+        lines.add("Income: " + money(monthIncome));
+        lines.add("Expenses: " + money(monthExpenses));
+        lines.add("Net cash flow: " + money(monthIncome.subtract(monthExpenses)));
+        if (monthIncome.signum() > 0) {
+            lines.add("Savings rate: " + percent(monthIncome.subtract(monthExpenses), monthIncome));
+        }
+        return lines;
+    }
+
+    // Most overspent first, so the most actionable variances survive when the budget is tight.
+    private List<String> budgetLines(List<Budget> budgets, Map<String, BigDecimal[]> spendByCategory) {
+        record Variance(String category, BigDecimal budget, BigDecimal spent) {
+            BigDecimal over() {
+                return spent.subtract(budget);
+            }
+        }
+        List<Variance> variances = new ArrayList<>();
+        for (Budget budget : budgets) {
+            BigDecimal[] spend = spendByCategory.get(budget.getCategory());
+            BigDecimal spent = spend != null ? spend[TREND_MONTHS] : BigDecimal.ZERO;
+            variances.add(new Variance(budget.getCategory(), budget.getBudgetAmount(), spent));
+        }
+        variances.sort(Comparator.comparing(Variance::over).reversed());
+
+        List<String> lines = new ArrayList<>();
+        for (Variance variance : variances) {
+            String status = variance.over().signum() > 0
+                    ? "over by " + money(variance.over())
+                    : percent(variance.spent(), variance.budget()) + " used";
+            lines.add(variance.category() + ": " + money(variance.spent()) + " of " + money(variance.budget())
+                    + ", " + status);
+        }
+        return lines;
+    }
+
+    private List<String> topCategoryLines(Map<String, BigDecimal[]> spendByCategory, BigDecimal[] expenses) {
+        BigDecimal monthExpenses = expenses[TREND_MONTHS];
+        return spendByCategory.entrySet().stream()
+                .filter(e -> e.getValue()[TREND_MONTHS].signum() > 0)
+                .sorted(Comparator.comparing((Map.Entry<String, BigDecimal[]> e) -> e.getValue()[TREND_MONTHS])
+                        .reversed())
+                .limit(TOP_CATEGORIES)
+                .map(e -> e.getKey() + ": " + money(e.getValue()[TREND_MONTHS]) + " ("
+                        + percent(e.getValue()[TREND_MONTHS], monthExpenses) + " of expenses)")
+                .toList();
+    }
+
+    // Month-to-date pace more than two standard deviations and 25% above the six-month mean.
+    private record Anomaly(String category, double pace, double mean) {
+    }
+
+    private List<Anomaly> anomalies(Map<String, BigDecimal[]> spendByCategory, LocalDate today) {
+        if (today.getDayOfMonth() < 7) {
+            return List.of();
+        }
+        double paceFactor = (double) today.lengthOfMonth() / today.getDayOfMonth();
+        List<Anomaly> anomalies = new ArrayList<>();
+        spendByCategory.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> {
+                    double[] history = Arrays.stream(e.getValue(), 0, TREND_MONTHS)
+                            .mapToDouble(BigDecimal::doubleValue).toArray();
+                    double mean = Arrays.stream(history).average().orElse(0);
+                    double variance = Arrays.stream(history).map(v -> (v - mean) * (v - mean)).sum() / TREND_MONTHS;
+                    double pace = e.getValue()[TREND_MONTHS].doubleValue() * paceFactor;
+                    if (mean > 0 && pace > mean * 1.25 && pace > mean + 2 * Math.sqrt(variance)) {
+                        anomalies.add(new Anomaly(e.getKey(), pace, mean));
+                    }
+                });
+        return anomalies;
+    }
+
+    private List<String> trendLines(BigDecimal[] income, BigDecimal[] expenses, LocalDate firstMonth) {
+        List<String> lines = new ArrayList<>();
+        for (int i = TREND_MONTHS - 1; i >= 0; i--) {
+            lines.add(MONTH_LABEL.format(firstMonth.plusMonths(i)) + ": income " + money(income[i])
+                    + ", expenses " + money(expenses[i]));
+        }
+        return lines;
+    }
+
+    private static BigDecimal[] zeros() {
+        BigDecimal[] values = new BigDecimal[TREND_MONTHS + 1];
+        Arrays.fill(values, BigDecimal.ZERO);
+        return values;
+    }
+
+    private static int monthIndex(LocalDate firstMonth, LocalDate month) {
+        return (int) ChronoUnit.MONTHS.between(firstMonth, month.withDayOfMonth(1));
+    }
+
+    // Two significant figures: $3,249 -> $3,200, $52,345 -> $52,000.
+    private static String money(BigDecimal value) {
+        return String.format("$%.0f", value.round(new MathContext(2, RoundingMode.HALF_UP)));
+    }
+
+    private static String percent(BigDecimal part, BigDecimal whole) {
+        if (whole.signum() == 0) {
+            return "n/a";
+        }
+        BigDecimal value = part.multiply(BigDecimal.valueOf(100)).divide(whole, 2, RoundingMode.HALF_UP);
+        return value.divide(BigDecimal.valueOf(5), 0, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(5)) + "%";
+    }
+
+    // Appends each line that still fits in the character budget; a section heading is only written
+    // together with its first line.
+    private static final class PromptBudget {
+
+        private final StringBuilder text = new StringBuilder();
+        private int remaining;
+
+        PromptBudget(int chars) {
+            this.remaining = chars;
+        }
+
+        void section(String heading, List<String> lines) {
+            String headingLine = "\n" + heading + ":\n";
+            boolean headingWritten = false;
+            for (String line : lines) {
+                String entry = "- " + line + "\n";
+                int cost = entry.length() + (headingWritten ? 0 : headingLine.length());
+                if (cost > remaining) {
+                    continue;
+                }
+                if (!headingWritten) {
+                    text.append(headingLine);
+                    headingWritten = true;
+                }
+                text.append(entry);
+                remaining -= cost;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.pennywise.pennywisebackend.service;
+
+import com.pennywise.pennywisebackend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class AiQuotaService {
+
+    public enum Period { NONE, DAILY, WEEKLY, MONTHLY }
+
+    public record Reservation(Long userId, LocalDate periodStart, int used) {
+    }
+
+    private static final LocalDate NO_PERIOD = LocalDate.of(1970, 1, 1);
+
+    private final UserRepository userRepository;
+
+    @Value("${app.ai.quota.limit:3}")
+    private int limit;
+
+    @Value("${app.ai.quota.period:NONE}")
+    private Period period;
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int used(Long userId) {
+        return userRepository.findAiAdviceUsedInPeriod(userId, currentPeriodStart())
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+    }
+
+    public int remaining(Long userId) {
+        return remainingAfter(used(userId));
+    }
+
+    public int remainingAfter(int used) {
+        return Math.max(0, limit - used);
+    }
+
+    public Optional<Reservation> tryReserve(Long userId) {
+        LocalDate periodStart = currentPeriodStart();
+        return userRepository.reserveAiAdvice(userId, periodStart, limit)
+                .map(used -> new Reservation(userId, periodStart, used));
+    }
+
+    public void release(Reservation reservation) {
+        userRepository.releaseAiAdvice(reservation.userId(), reservation.periodStart());
+    }
+
+    private LocalDate currentPeriodStart() {
+        LocalDate today = LocalDate.now();
+        return switch (period) {
+            case NONE -> NO_PERIOD;
+            case DAILY -> today;
+            case WEEKLY -> today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> today.withDayOfMonth(1);
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package com.pennywise.pennywisebackend.service;
+
+import com.pennywise.pennywisebackend.dto.BudgetDTO;
+import com.pennywise.pennywisebackend.model.DailySpend;
+import com.pennywise.pennywisebackend.repository.DailySpendRepository;
+import com.pennywise.pennywisebackend.util.ConversionUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BudgetForecastService {
+
+    static final int PRIOR_YEARS = 2;
+
+    private final DailySpendRepository dailySpendRepository;
+
+    public void applyForecasts(Long userId, List<BudgetDTO> budgets, LocalDate today) {
+        YearMonth currentMonth = YearMonth.from(today);
+        Map<YearMonth, List<BudgetDTO>> byMonth = budgets.stream()
+                .filter(b -> !YearMonth.from(b.getMonth()).isAfter(currentMonth))
+                .collect(Collectors.groupingBy(b -> YearMonth.from(b.getMonth())));
+        if (byMonth.isEmpty()) {
+            return;
+        }
+
+        Set<LocalDate> monthStarts = new HashSet<>();
+        for (YearMonth month : byMonth.keySet()) {
+            for (int i = 0; i <= PRIOR_YEARS; i++) {
+                monthStarts.add(month.minusYears(i).atDay(1));
+            }
+        }
+        YearMonth last = Collections.max(byMonth.keySet());
+        List<DailySpend> rows = dailySpendRepository.findInMonths(userId, monthStarts, Collections.min(monthStarts),
+                last.atEndOfMonth());
+
+        // category -> month -> per-day spend, index 0 = day 1
+        Map<String, Map<YearMonth, double[]>> curves = new HashMap<>();
+        for (DailySpend row : rows) {
+            YearMonth rowMonth = YearMonth.from(row.getDay());
+            curves.computeIfAbsent(row.getCategory(), c -> new HashMap<>())
+                    .computeIfAbsent(rowMonth, m -> new double[rowMonth.lengthOfMonth()])
+                    [row.getDay().getDayOfMonth() - 1] += row.getAmount().doubleValue();
+        }
+
+        for (Map.Entry<YearMonth, List<BudgetDTO>> entry : byMonth.entrySet()) {
+            YearMonth month = entry.getKey();
+            int asOfDay = month.equals(currentMonth) ? today.getDayOfMonth() : month.lengthOfMonth();
+            for (BudgetDTO budget : entry.getValue()) {
+                Map<YearMonth, double[]> categoryCurves = curves.getOrDefault(budget.getCategory(), Map.of());
+                double[] current = categoryCurves.getOrDefault(month, new double[month.lengthOfMonth()]);
+                List<double[]> priors = new ArrayList<>();
+                for (int i = 1; i <= PRIOR_YEARS; i++) {
+                    double[] prior = categoryCurves.get(month.minusYears(i));
+                    if (prior != null) {
+                        priors.add(prior);
+                    }
+                }
+                forecast(budget, month, current, priors, asOfDay);
+            }
+        }
+    }
+
+    static void forecast(BudgetDTO budget, YearMonth month, double[] current, List<double[]> priors, int asOfDay) {
+        int daysInMonth = month.lengthOfMonth();
+        double spent = sum(current, asOfDay);
+        double projected = spent;
+
+        if (asOfDay < daysInMonth) {
+            double remainingLinear = spent / asOfDay * (daysInMonth - asOfDay);
+            if (priors.isEmpty()) {
+                projected = spent + remainingLinear;
+            } else {
+                double remainingPrior = 0;
+                for (double[] prior : priors) {
+                    remainingPrior += sum(prior, prior.length) - sum(prior, Math.min(asOfDay, prior.length));
+                }
+                remainingPrior /= priors.size();
+                projected = spent + (remainingLinear + remainingPrior) / 2;
+            }
+        }
+        budget.setProjectedSpend(ConversionUtil.money(projected));
+
+        double limit = budget.getBudgetAmount() == null ? 0 : budget.getBudgetAmount().doubleValue();
+        if (limit <= 0) {
+            return;
+        }
+        if (spent > limit) {
+            double running = 0;
+            for (int day = 1; day <= asOfDay; day++) {
+                running += current[day - 1];
+                if (running > limit) {
+                    budget.setProjectedOverrunDate(month.atDay(day));
+                    return;
+                }
+            }
+        } else if (projected > limit && asOfDay < daysInMonth) {
+            double dailyRate = (projected - spent) / (daysInMonth - asOfDay);
+            int day = asOfDay + (int) Math.ceil((limit - spent) / dailyRate);
+            budget.setProjectedOverrunDate(month.atDay(Math.min(Math.max(day, asOfDay + 1), daysInMonth)));
+        }
+    }
+
+    private static double sum(double[] values, int days) {
+        double total = 0;
+        for (int i = 0; i < days; i++) {
+            total += values[i];
+        }
+        return total;
+    }
+}
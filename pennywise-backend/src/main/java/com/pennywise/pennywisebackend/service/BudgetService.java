@@ -2,24 +2,25 @@ package com.pennywise.pennywisebackend.service;
 
 import com.pennywise.pennywisebackend.model.Budget;
 import com.pennywise.pennywisebackend.model.Transaction;
-import com.pennywise.pennywisebackend.model.User;
+import com.pennywise.pennywisebackend.payload.request.BudgetUpsertRequest;
 import com.pennywise.pennywisebackend.repository.BudgetRepository;
 import com.pennywise.pennywisebackend.repository.TransactionRepository;
-import com.pennywise.pennywisebackend.repository.UserRepository;
+import com.pennywise.pennywisebackend.security.CurrentUser;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import com.pennywise.pennywisebackend.dto.BudgetDTO;
+import com.pennywise.pennywisebackend.util.ConversionUtil;
 
 @Service
 @RequiredArgsConstructor
@@ -28,20 +29,8 @@ public class BudgetService {
 
     private final BudgetRepository budgetRepository;
     private final TransactionRepository transactionRepository;
-    private final UserRepository userRepository;
-
-    private User getCurrentUser() {
-        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        String username;
-        if (principal instanceof UserDetails) {
-            username = ((UserDetails) principal).getUsername();
-        } else {
-            username = principal.toString();
-        }
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException(
-                        "User not found in database. This should not happen if authenticated."));
-    }
+    private final CurrentUser currentUser;
+    private final BudgetForecastService budgetForecastService;
 
     private BudgetDTO convertToDto(Budget budget) {
         if (budget.getUser() == null) {
@@ -68,34 +57,38 @@ public class BudgetService {
                 budget.getMonth());
     }
 
-    public List<BudgetDTO> getAllBudgets() {
-        User currentUser = getCurrentUser();
-        return budgetRepository.findByUserId(currentUser.getId()).stream()
-                .map(this::convertToDto)
+    public List<BudgetDTO> getAllBudgets(boolean withForecast) {
+        List<BudgetDTO> budgets = budgetRepository.findWithSpentByUserId(currentUser.getId()).stream()
+                .map(this::rowToDto)
                 .collect(Collectors.toList());
+        if (withForecast) {
+            budgetForecastService.applyForecasts(currentUser.getId(), budgets, LocalDate.now());
+        }
+        return budgets;
     }
 
-    public List<BudgetDTO> getBudgetsByMonth(LocalDate monthFirstDay) {
-        User currentUser = getCurrentUser();
-        return budgetRepository.findByUserIdAndMonth(currentUser.getId(), monthFirstDay).stream()
-                .map(this::convertToDto)
+    public List<BudgetDTO> getBudgetsByMonth(LocalDate monthFirstDay, boolean withForecast) {
+        List<BudgetDTO> budgets = budgetRepository.findWithSpentByUserIdAndMonth(currentUser.getId(), monthFirstDay)
+                .stream()
+                .map(this::rowToDto)
                 .collect(Collectors.toList());
+        if (withForecast) {
+            budgetForecastService.applyForecasts(currentUser.getId(), budgets, LocalDate.now());
+        }
+        return budgets;
     }
 
     public Optional<BudgetDTO> getBudgetById(Long id) {
-        User currentUser = getCurrentUser();
         return budgetRepository.findByIdAndUserId(id, currentUser.getId()).map(this::convertToDto);
     }
 
     public Optional<BudgetDTO> getBudgetByCategoryAndMonth(String category, LocalDate monthFirstDay) {
-        User currentUser = getCurrentUser();
         return budgetRepository.findByUserIdAndCategoryAndMonth(currentUser.getId(), category, monthFirstDay)
                 .map(this::convertToDto);
     }
 
     public Budget saveBudget(Budget budget) {
-        User currentUser = getCurrentUser();
-        budget.setUser(currentUser);
+        budget.setUser(currentUser.getReference());
         budget.setMonth(budget.getMonth().withDayOfMonth(1));
 
         Optional<Budget> existingBudget = budgetRepository.findByUserIdAndCategoryAndMonth(
@@ -108,7 +101,6 @@ public class BudgetService {
     }
 
     public Budget updateBudget(Long id, Budget budgetDetails) {
-        User currentUser = getCurrentUser();
         Long userId = currentUser.getId();
 
         Budget budget = budgetRepository.findByIdAndUserId(id, userId)
@@ -133,10 +125,52 @@ public class BudgetService {
     }
 
     public void deleteBudget(Long id) {
-        User currentUser = getCurrentUser();
         Budget budget = budgetRepository.findByIdAndUserId(id, currentUser.getId())
                 .orElseThrow(() -> new RuntimeException(
                         "Budget not found with id: " + id + " or access denied for deletion."));
         budgetRepository.delete(budget);
     }
+
+    public List<BudgetDTO> copyBudgets(YearMonth sourceMonth, List<YearMonth> targetMonths, boolean overwrite) {
+        List<String> targets = targetMonths.stream()
+                .distinct()
+                .filter(target -> !target.equals(sourceMonth))
+                .map(target -> target.atDay(1).toString())
+                .collect(Collectors.toList());
+        if (targets.isEmpty()) {
+            return List.of();
+        }
+        return budgetRepository.copyMonthWithSpent(currentUser.getId(), sourceMonth.atDay(1),
+                ConversionUtil.toJson(targets), overwrite).stream()
+                .map(this::rowToDto)
+                .collect(Collectors.toList());
+    }
+
+    public List<BudgetDTO> upsertBudgets(List<BudgetUpsertRequest> budgets) {
+        // ON CONFLICT cannot touch the same row twice in one statement, so the last entry per key wins.
+        Map<String, Map<String, Object>> rows = new LinkedHashMap<>();
+        for (BudgetUpsertRequest budget : budgets) {
+            LocalDate month = budget.getMonth().withDayOfMonth(1);
+            rows.put(budget.getCategory() + "|" + month, Map.of(
+                    "category", budget.getCategory(),
+                    "budget_amount", budget.getBudgetAmount(),
+                    "month_date", month.toString()));
+        }
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        return budgetRepository.upsertAllWithSpent(currentUser.getId(), ConversionUtil.toJson(rows.values()))
+                .stream()
+                .map(this::rowToDto)
+                .collect(Collectors.toList());
+    }
+
+    private BudgetDTO rowToDto(Object[] row) {
+        return new BudgetDTO(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                (BigDecimal) row[2],
+                (BigDecimal) row[3],
+                ConversionUtil.toLocalDate(row[4]));
+    }
 }
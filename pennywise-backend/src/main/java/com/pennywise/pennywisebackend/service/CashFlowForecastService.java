@@ -0,0 +1,193 @@
+package com.pennywise.pennywisebackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pennywise.pennywisebackend.dto.CashFlowForecastDTO;
+import com.pennywise.pennywisebackend.model.MonthlyIncome;
+import com.pennywise.pennywisebackend.repository.DailySpendRepository;
+import com.pennywise.pennywisebackend.repository.MonthlyIncomeRepository;
+import com.pennywise.pennywisebackend.util.ConversionUtil;
+import com.pennywise.pennywisebackend.util.HoltWinters;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@RequiredArgsConstructor
+public class CashFlowForecastService implements MeterBinder {
+
+    private static final int HISTORY_MONTHS = 36;
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final DailySpendRepository dailySpendRepository;
+    private final MonthlyIncomeRepository monthlyIncomeRepository;
+
+    private final Cache<Long, UserModels> models = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofDays(1))
+            .maximumSize(10_000)
+            .recordStats()
+            .build();
+    // Bumped by every invalidation; a fit that overlapped one is used once but not kept.
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Income has no category in the aggregates, so it is modelled as a single series.
+    private static final class UserModels {
+        final ReentrantLock lock = new ReentrantLock();
+        YearMonth lastClosedMonth;
+        HoltWinters income;
+        final Map<String, HoltWinters> expenses = new TreeMap<>();
+    }
+
+    public List<CashFlowForecastDTO> forecast(Long userId, int months) {
+        int horizon = Math.max(3, Math.min(months, 12));
+        YearMonth lastClosed = YearMonth.now().minusMonths(1);
+        // Fitted outside the cache's compute, whose map-bin monitor would pin a virtual thread during the queries.
+        UserModels userModels = models.getIfPresent(userId);
+        if (userModels == null) {
+            long generation = invalidations.get();
+            UserModels fitted = fit(userId, lastClosed);
+            userModels = models.asMap().putIfAbsent(userId, fitted);
+            if (userModels == null) {
+                userModels = fitted;
+                if (invalidations.get() != generation) {
+                    models.asMap().remove(userId, fitted);
+                }
+            }
+        }
+
+        List<CashFlowForecastDTO> result = new ArrayList<>(horizon);
+        userModels.lock.lock();
+        try {
+            if (userModels.lastClosedMonth.isBefore(lastClosed) && !rollForward(userId, userModels, lastClosed)) {
+                models.invalidate(userId);
+                return forecast(userId, months);
+            }
+            double[] income = userModels.income.forecast(horizon);
+            Map<String, double[]> expenses = new HashMap<>();
+            userModels.expenses.forEach((category, model) -> expenses.put(category, model.forecast(horizon)));
+
+            for (int h = 0; h < horizon; h++) {
+                Map<String, BigDecimal> byCategory = new TreeMap<>();
+                BigDecimal total = BigDecimal.ZERO;
+                for (Map.Entry<String, double[]> entry : expenses.entrySet()) {
+                    BigDecimal amount = ConversionUtil.money(Math.max(0, entry.getValue()[h]));
+                    if (amount.signum() > 0) {
+                        byCategory.put(entry.getKey(), amount);
+                        total = total.add(amount);
+                    }
+                }
+                result.add(new CashFlowForecastDTO(lastClosed.plusMonths(h + 1).format(MONTH_FORMAT),
+                        ConversionUtil.money(Math.max(0, income[h])), total, byCategory));
+            }
+        } finally {
+            userModels.lock.unlock();
+        }
+        return result;
+    }
+
+    // After commit, so a concurrent refit cannot cache a model built from the pre-commit aggregates.
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidations.incrementAndGet();
+                    models.invalidate(userId);
+                }
+            });
+        } else {
+            invalidations.incrementAndGet();
+            models.invalidate(userId);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, models, "cashFlowModels");
+    }
+
+    private UserModels fit(Long userId, YearMonth lastClosed) {
+        YearMonth firstMonth = lastClosed.minusMonths(HISTORY_MONTHS - 1);
+        double[] income = new double[HISTORY_MONTHS];
+        Map<String, double[]> expenses = new HashMap<>();
+        int firstWithData = HISTORY_MONTHS;
+
+        for (Object[] row : dailySpendRepository.sumByCategoryAndMonth(userId, firstMonth.atDay(1),
+                lastClosed.atEndOfMonth())) {
+            int index = monthIndex(firstMonth, ConversionUtil.toLocalDate(row[1]));
+            expenses.computeIfAbsent((String) row[0], c -> new double[HISTORY_MONTHS])[index] =
+                    ((BigDecimal) row[2]).doubleValue();
+            firstWithData = Math.min(firstWithData, index);
+        }
+        for (MonthlyIncome monthlyIncome : monthlyIncomeRepository.findInRange(userId, firstMonth.atDay(1),
+                lastClosed.atDay(1))) {
+            int index = monthIndex(firstMonth, monthlyIncome.getMonth());
+            income[index] = monthlyIncome.getAmount().doubleValue();
+            firstWithData = Math.min(firstWithData, index);
+        }
+
+        // Months before the user's first recorded activity are not zero-spend months, just missing data.
+        int from = Math.min(firstWithData, HISTORY_MONTHS - 1);
+        UserModels userModels = new UserModels();
+        userModels.lastClosedMonth = lastClosed;
+        userModels.income = HoltWinters.fit(Arrays.copyOfRange(income, from, HISTORY_MONTHS));
+        expenses.forEach((category, series) ->
+                userModels.expenses.put(category, HoltWinters.fit(Arrays.copyOfRange(series, from, HISTORY_MONTHS))));
+        return userModels;
+    }
+
+    // Feeds the months closed since the last fit into the existing models. Returns false when a new
+    // category showed up, which needs a full fit.
+    private boolean rollForward(Long userId, UserModels userModels, YearMonth lastClosed) {
+        YearMonth firstNew = userModels.lastClosedMonth.plusMonths(1);
+        int count = (int) ChronoUnit.MONTHS.between(firstNew, lastClosed) + 1;
+        double[] income = new double[count];
+        Map<String, double[]> expenses = new HashMap<>();
+        for (Object[] row : dailySpendRepository.sumByCategoryAndMonth(userId, firstNew.atDay(1),
+                lastClosed.atEndOfMonth())) {
+            String category = (String) row[0];
+            if (!userModels.expenses.containsKey(category)) {
+                return false;
+            }
+            int index = monthIndex(firstNew, ConversionUtil.toLocalDate(row[1]));
+            expenses.computeIfAbsent(category, c -> new double[count])[index] = ((BigDecimal) row[2]).doubleValue();
+        }
+        for (MonthlyIncome monthlyIncome : monthlyIncomeRepository.findInRange(userId, firstNew.atDay(1),
+                lastClosed.atDay(1))) {
+            income[monthIndex(firstNew, monthlyIncome.getMonth())] = monthlyIncome.getAmount().doubleValue();
+        }
+
+        for (int i = 0; i < count; i++) {
+            userModels.income.update(income[i]);
+            for (Map.Entry<String, HoltWinters> entry : userModels.expenses.entrySet()) {
+                double[] series = expenses.get(entry.getKey());
+                entry.getValue().update(series != null ? series[i] : 0);
+            }
+        }
+        userModels.lastClosedMonth = lastClosed;
+        return true;
+    }
+
+    private static int monthIndex(YearMonth first, LocalDate month) {
+        return (int) ChronoUnit.MONTHS.between(first, YearMonth.from(month));
+    }
+}
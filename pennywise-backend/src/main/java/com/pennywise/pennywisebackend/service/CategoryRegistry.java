@@ -0,0 +1,122 @@
+package com.pennywise.pennywisebackend.service;
+
+import com.pennywise.pennywisebackend.model.Category;
+import com.pennywise.pennywisebackend.repository.CacheVersionRepository;
+import com.pennywise.pennywisebackend.repository.CategoryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class CategoryRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryRegistry.class);
+    private static final String CACHE_NAME = "categories";
+
+    private record Snapshot(long version, List<Category> all, Map<Long, Category> byId, Map<String, Category> byName) {
+    }
+
+    private final CategoryRepository categoryRepository;
+    private final CacheVersionRepository cacheVersionRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private TransactionTemplate loadTransaction;
+    private volatile Snapshot snapshot;
+
+    @PostConstruct
+    public void init() {
+        loadTransaction = new TransactionTemplate(transactionManager);
+        loadTransaction.setReadOnly(true);
+        // Reloads run after the writer's commit, so they must not join its (finished) transaction.
+        loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        reload();
+    }
+
+    public List<Category> getAll() {
+        return snapshot.all();
+    }
+
+    public Optional<Category> findById(Long id) {
+        return Optional.ofNullable(snapshot.byId().get(id));
+    }
+
+    public Optional<Category> findByName(String name) {
+        return Optional.ofNullable(snapshot.byName().get(name));
+    }
+
+    // Must be called inside the writing transaction.
+    public void markChanged() {
+        cacheVersionRepository.bump(CACHE_NAME);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    // Picks up rows inserted at startup without going through the service, e.g. by an SQL init script.
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${app.categories.versionPollMs:5000}",
+            initialDelayString = "${app.categories.versionPollMs:5000}")
+    public void pollVersion() {
+        long version = cacheVersionRepository.findVersion(CACHE_NAME).orElse(0L);
+        if (version != snapshot.version()) {
+            reload();
+        }
+    }
+
+    // Not synchronized: the JDBC I/O would pin a virtual thread.
+    private void reload() {
+        reloadLock.lock();
+        try {
+            load();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void load() {
+        snapshot = loadTransaction.execute(status -> {
+            // Version first: if a write lands between the two reads the rows are newer than the version,
+            // and the next poll simply reloads again.
+            long version = cacheVersionRepository.findVersion(CACHE_NAME).orElse(0L);
+            List<Category> all = categoryRepository.findAll().stream()
+                    .map(c -> new Category(c.getId(), c.getName()))
+                    .sorted(Comparator.comparing(Category::getId))
+                    .toList();
+            return new Snapshot(version, all,
+                    all.stream().collect(Collectors.toUnmodifiableMap(Category::getId, Function.identity())),
+                    all.stream().collect(Collectors.toUnmodifiableMap(Category::getName, Function.identity())));
+        });
+        logger.debug("Loaded {} categories at version {}", snapshot.all().size(), snapshot.version());
+    }
+}
@@ -11,49 +11,57 @@ import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryRegistry categoryRegistry;
 
     public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+        return categoryRegistry.getAll();
     }
 
     public Optional<Category> getCategoryById(Long id) {
-        return categoryRepository.findById(id);
+        return categoryRegistry.findById(id);
     }
 
     public Optional<Category> getCategoryByName(String name) {
-        return categoryRepository.findByName(name);
+        return categoryRegistry.findByName(name);
     }
 
+    @Transactional
     public Category saveCategory(Category category) {
-        Optional<Category> existingCategory = categoryRepository.findByName(category.getName());
+        Optional<Category> existingCategory = categoryRegistry.findByName(category.getName());
         if (existingCategory.isPresent()) {
             throw new RuntimeException("Category with name '" + category.getName() + "' already exists.");
         }
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        categoryRegistry.markChanged();
+        return saved;
     }
 
+    @Transactional
     public Category updateCategory(Long id, Category categoryDetails) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
 
-        Optional<Category> existingCategoryWithName = categoryRepository.findByName(categoryDetails.getName());
+        Optional<Category> existingCategoryWithName = categoryRegistry.findByName(categoryDetails.getName());
         if (existingCategoryWithName.isPresent() && !existingCategoryWithName.get().getId().equals(id)) {
             throw new RuntimeException(
                     "Another category with name '" + categoryDetails.getName() + "' already exists.");
         }
 
         category.setName(categoryDetails.getName());
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        categoryRegistry.markChanged();
+        return saved;
     }
 
+    @Transactional
     public void deleteCategory(Long id) {
         if (!categoryRepository.existsById(id)) {
             throw new RuntimeException("Category not found with id: " + id);
         }
         categoryRepository.deleteById(id);
+        categoryRegistry.markChanged();
     }
 }
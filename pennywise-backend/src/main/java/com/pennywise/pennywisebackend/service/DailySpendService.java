@@ -0,0 +1,59 @@
+package com.pennywise.pennywisebackend.service;
+
+import com.pennywise.pennywisebackend.model.Transaction;
+import com.pennywise.pennywisebackend.repository.DailySpendRepository;
+import com.pennywise.pennywisebackend.repository.MonthlyIncomeRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class DailySpendService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailySpendService.class);
+
+    private final DailySpendRepository dailySpendRepository;
+    private final MonthlyIncomeRepository monthlyIncomeRepository;
+    private final CashFlowForecastService cashFlowForecastService;
+
+    public void recordTransaction(Transaction transaction) {
+        apply(transaction, false);
+    }
+
+    public void reverseTransaction(Transaction transaction) {
+        apply(transaction, true);
+    }
+
+    private void apply(Transaction transaction, boolean reverse) {
+        if (transaction.getDate() == null || transaction.getAmount() == null) {
+            return;
+        }
+        BigDecimal amount = transaction.getAmount().abs();
+        BigDecimal delta = reverse ? amount.negate() : amount;
+        // Forecast models are fitted on closed months, so only back-dated writes make them stale.
+        if (transaction.getDate().isBefore(LocalDate.now().withDayOfMonth(1))) {
+            cashFlowForecastService.invalidate(transaction.getUser().getId());
+        }
+        if ("income".equalsIgnoreCase(transaction.getType())) {
+            monthlyIncomeRepository.addIncome(transaction.getUser().getId(),
+                    transaction.getDate().withDayOfMonth(1), delta);
+        } else if ("expense".equalsIgnoreCase(transaction.getType()) && transaction.getCategory() != null) {
+            dailySpendRepository.addSpend(transaction.getUser().getId(), transaction.getCategory(),
+                    transaction.getDate(), delta);
+        }
+    }
+
+    // One-off rebuild of both aggregates from transactions, run through DataMigrations at startup.
+    public void backfillFromTransactions() {
+        int spendRows = dailySpendRepository.backfillFromTransactions();
+        int incomeRows = monthlyIncomeRepository.backfillFromTransactions();
+        logger.info("Backfilled {} daily spend and {} monthly income rows from transactions", spendRows, incomeRows);
+    }
+}
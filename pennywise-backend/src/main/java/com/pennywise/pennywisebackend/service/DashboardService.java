@@ -1,17 +1,14 @@
 package com.pennywise.pennywisebackend.service;
 
 import com.pennywise.pennywisebackend.model.Transaction;
-import com.pennywise.pennywisebackend.model.User;
 import com.pennywise.pennywisebackend.repository.TransactionRepository;
-import com.pennywise.pennywisebackend.repository.UserRepository;
+import com.pennywise.pennywisebackend.security.CurrentUser;
 import com.pennywise.pennywisebackend.dto.DashboardSummaryDTO;
 import com.pennywise.pennywisebackend.dto.ExpenseBreakdownDTO;
 import com.pennywise.pennywisebackend.dto.MonthlyTrendDTO;
 import com.pennywise.pennywisebackend.dto.MonthlyOverviewDTO;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,23 +28,11 @@ import java.util.stream.Collectors;
 public class DashboardService {
 
         private final TransactionRepository transactionRepository;
-        private final UserRepository userRepository;
-
-        private User getCurrentUser() {
-                Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-                String username;
-                if (principal instanceof UserDetails) {
-                        username = ((UserDetails) principal).getUsername();
-                } else {
-                        username = principal.toString();
-                }
-                return userRepository.findByUsername(username)
-                                .orElseThrow(() -> new RuntimeException(
-                                                "User not found in database. This should not happen if authenticated."));
-        }
+        private final CurrentUser currentUser;
+        private final DataReadinessService dataReadinessService;
+        private final AiQuotaService aiQuotaService;
 
         public DashboardSummaryDTO getDashboardSummary(LocalDate reportDate) {
-                User currentUser = getCurrentUser();
                 Long userId = currentUser.getId();
 
                 YearMonth currentYearMonth = YearMonth.from(reportDate);
@@ -166,7 +151,8 @@ public class DashboardService {
                                 monthlyIncomeChangePercentage,
                                 monthlyExpensesChangePercentage,
                                 savingsRateChangePercentage,
-                                (3 - (currentUser.getAiAdviceCount() == null ? 0 : currentUser.getAiAdviceCount())));
+                                aiQuotaService.remaining(userId),
+                                dataReadinessService.hasIncomeAndExpenses(userId));
         }
 
         private BigDecimal calculatePercentageChange(BigDecimal currentValue, BigDecimal previousValue) {
@@ -181,7 +167,6 @@ public class DashboardService {
         }
 
         public List<ExpenseBreakdownDTO> getExpenseBreakdown(LocalDate startDate, LocalDate endDate) {
-                User currentUser = getCurrentUser();
                 Long userId = currentUser.getId();
                 List<Transaction> expenseTransactions = transactionRepository.findByUserIdAndTypeAndDateBetween(userId,
                                 "expense", startDate, endDate);
@@ -198,18 +183,23 @@ public class DashboardService {
         }
 
         public List<MonthlyTrendDTO> getSpendingTrends(int numberOfMonths) {
-                User currentUser = getCurrentUser();
                 Long userId = currentUser.getId();
                 List<MonthlyTrendDTO> trends = new ArrayList<>();
                 YearMonth currentMonth = YearMonth.now();
+                if (numberOfMonths <= 0) {
+                        return trends;
+                }
+
+                Map<YearMonth, List<Transaction>> transactionsByMonth = transactionRepository
+                                .findByUserIdAndDateBetween(userId,
+                                                currentMonth.minusMonths(numberOfMonths - 1).atDay(1),
+                                                currentMonth.atEndOfMonth())
+                                .stream()
+                                .collect(Collectors.groupingBy(t -> YearMonth.from(t.getDate())));
 
                 for (int i = 0; i < numberOfMonths; i++) {
                         YearMonth targetMonth = currentMonth.minusMonths(i);
-                        LocalDate startDate = targetMonth.atDay(1);
-                        LocalDate endDate = targetMonth.atEndOfMonth();
-
-                        List<Transaction> monthTransactions = transactionRepository.findByUserIdAndDateBetween(userId,
-                                        startDate, endDate);
+                        List<Transaction> monthTransactions = transactionsByMonth.getOrDefault(targetMonth, List.of());
 
                         BigDecimal income = monthTransactions.stream()
                                         .filter(t -> "income".equalsIgnoreCase(t.getType()))
@@ -232,7 +222,6 @@ public class DashboardService {
         }
 
         public MonthlyOverviewDTO getCurrentMonthOverview() {
-                User currentUser = getCurrentUser();
                 Long userId = currentUser.getId();
                 YearMonth currentYearMonth = YearMonth.now();
                 LocalDate startDate = currentYearMonth.atDay(1);
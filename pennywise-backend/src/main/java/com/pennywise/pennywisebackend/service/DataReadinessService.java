@@ -0,0 +1,19 @@
+package com.pennywise.pennywisebackend.service;
+
+import com.pennywise.pennywisebackend.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DataReadinessService {
+
+    private final TransactionRepository transactionRepository;
+
+    public boolean hasIncomeAndExpenses(Long userId) {
+        return transactionRepository.existsByUserIdAndType(userId, "income")
+                && transactionRepository.existsByUserIdAndType(userId, "expense");
+    }
+}
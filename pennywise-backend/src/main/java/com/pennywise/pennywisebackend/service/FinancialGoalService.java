@@ -2,11 +2,18 @@ package com.pennywise.pennywisebackend.service;
 
 import com.pennywise.pennywisebackend.model.FinancialGoal;
 import com.pennywise.pennywisebackend.repository.FinancialGoalRepository;
+import com.pennywise.pennywisebackend.repository.GoalNotificationRepository;
+import com.pennywise.pennywisebackend.security.CurrentUser;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -14,37 +21,81 @@ import java.util.Optional;
 @Transactional
 public class FinancialGoalService {
 
+    private static final Logger logger = LoggerFactory.getLogger(FinancialGoalService.class);
+
     private final FinancialGoalRepository financialGoalRepository;
+    private final GoalNotificationRepository goalNotificationRepository;
+    private final GoalProgressService goalProgressService;
+    private final CurrentUser currentUser;
 
     public List<FinancialGoal> getAllFinancialGoals() {
-        return financialGoalRepository.findAll();
+        return financialGoalRepository.findByUserId(currentUser.getId());
     }
 
     public Optional<FinancialGoal> getFinancialGoalById(Long id) {
-        return financialGoalRepository.findById(id);
+        return financialGoalRepository.findByIdAndUserId(id, currentUser.getId());
     }
 
     public FinancialGoal saveFinancialGoal(FinancialGoal financialGoal) {
+        Long userId = currentUser.getId();
+        financialGoal.setId(null);
+        financialGoal.setUser(currentUser.getReference());
+        if (financialGoal.getTrackingStart() == null) {
+            financialGoal.setTrackingStart(LocalDate.now());
+        }
+        BigDecimal opening = financialGoal.getCurrentAmount() != null ? financialGoal.getCurrentAmount()
+                : BigDecimal.ZERO;
+        BigDecimal tracked = goalProgressService.contributionsSince(userId, financialGoal.getCategory(),
+                financialGoal.getTrackingStart());
+        financialGoal.setTrackedAmount(tracked);
+        financialGoal.setCurrentAmount(opening.add(tracked));
         return financialGoalRepository.save(financialGoal);
     }
 
     public FinancialGoal updateFinancialGoal(Long id, FinancialGoal goalDetails) {
-        FinancialGoal goal = financialGoalRepository.findById(id)
+        Long userId = currentUser.getId();
+        FinancialGoal goal = financialGoalRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new RuntimeException("FinancialGoal not found with id: " + id));
 
+        // The amount shown to the user includes tracked progress; an edit changes only the opening balance.
+        BigDecimal shown = goalDetails.getCurrentAmount() != null ? goalDetails.getCurrentAmount()
+                : goal.getCurrentAmount();
+        BigDecimal opening = (shown != null ? shown : BigDecimal.ZERO).subtract(goal.getTrackedAmount());
+        LocalDate trackingStart = goalDetails.getTrackingStart() != null ? goalDetails.getTrackingStart()
+                : goal.getTrackingStart();
+
+        BigDecimal tracked = goal.getTrackedAmount();
+        if (!Objects.equals(goal.getCategory(), goalDetails.getCategory())
+                || !Objects.equals(goal.getTrackingStart(), trackingStart)) {
+            tracked = goalProgressService.contributionsSince(userId, goalDetails.getCategory(), trackingStart);
+        }
+
         goal.setTitle(goalDetails.getTitle());
         goal.setTargetAmount(goalDetails.getTargetAmount());
-        goal.setCurrentAmount(goalDetails.getCurrentAmount());
         goal.setDeadline(goalDetails.getDeadline());
         goal.setCategory(goalDetails.getCategory());
+        goal.setTrackingStart(trackingStart);
+        goal.setTrackedAmount(tracked);
+        goal.setCurrentAmount(opening.add(tracked));
 
         return financialGoalRepository.save(goal);
     }
 
     public void deleteFinancialGoal(Long id) {
-        if (!financialGoalRepository.existsById(id)) {
-            throw new RuntimeException("FinancialGoal not found with id: " + id);
+        FinancialGoal goal = financialGoalRepository.findByIdAndUserId(id, currentUser.getId())
+                .orElseThrow(() -> new RuntimeException("FinancialGoal not found with id: " + id));
+        goalNotificationRepository.deleteByGoalId(goal.getId());
+        financialGoalRepository.delete(goal);
+    }
+
+    // Run once by DataMigrations: a single-user install keeps ownerless goals, otherwise they are quarantined.
+    public void adoptOrQuarantineOrphanedGoals() {
+        int adopted = financialGoalRepository.adoptOrphansBySoleUser();
+        financialGoalRepository.createOrphanTable();
+        int quarantined = financialGoalRepository.quarantineOrphans();
+        if (adopted > 0 || quarantined > 0) {
+            logger.warn("Goals without an owner: {} assigned to the only user, {} moved to orphaned_financial_goals",
+                    adopted, quarantined);
         }
-        financialGoalRepository.deleteById(id);
     }
 }
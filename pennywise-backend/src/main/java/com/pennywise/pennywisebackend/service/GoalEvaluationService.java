@@ -0,0 +1,196 @@
+package com.pennywise.pennywisebackend.service;
+
+import com.pennywise.pennywisebackend.repository.FinancialGoalRepository;
+import com.pennywise.pennywisebackend.repository.GoalNotificationRepository;
+import com.pennywise.pennywisebackend.util.ConversionUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@RequiredArgsConstructor
+public class GoalEvaluationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GoalEvaluationService.class);
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH);
+    // Pace over a shorter history is mostly noise, so such goals are not flagged as at risk yet.
+    private static final long MIN_TRACKED_DAYS = 14;
+
+    private final FinancialGoalRepository financialGoalRepository;
+    private final GoalNotificationRepository goalNotificationRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.goals.evaluation.chunkSize:500}")
+    private int chunkSize;
+
+    @Value("${app.goals.evaluation.workers:4}")
+    private int workers;
+
+    @Value("${app.goals.evaluation.maxRuntimeMs:600000}")
+    private long maxRuntimeMs;
+
+    @Value("${app.goals.evaluation.staleAfterHours:20}")
+    private long staleAfterHours;
+
+    private ExecutorService executor;
+    private TransactionTemplate writeTransaction;
+
+    enum Outcome { ON_TRACK, AT_RISK, OVERDUE, COMPLETED }
+
+    private record ClaimedGoal(long id, long userId, BigDecimal targetAmount, BigDecimal currentAmount,
+            BigDecimal trackedAmount, LocalDate deadline, LocalDate trackingStart) {
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "goal-evaluation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Scheduled(cron = "${app.goals.evaluation.cron:0 15 3 * * *}")
+    public void evaluateAll() {
+        Instant started = Instant.now();
+        Instant staleBefore = started.minus(Duration.ofHours(staleAfterHours));
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxRuntimeMs);
+        LocalDate today = LocalDate.now();
+
+        Semaphore inFlight = new Semaphore(workers * 2);
+        AtomicInteger evaluated = new AtomicInteger();
+        AtomicInteger notified = new AtomicInteger();
+        long afterId = 0;
+        try {
+            while (System.nanoTime() < deadlineNanos) {
+                List<ClaimedGoal> chunk = financialGoalRepository
+                        .claimChunk(afterId, staleBefore, Instant.now(), chunkSize).stream()
+                        .map(GoalEvaluationService::toClaimedGoal)
+                        .toList();
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                afterId = chunk.stream().mapToLong(ClaimedGoal::id).max().getAsLong();
+
+                inFlight.acquire();
+                executor.execute(() -> {
+                    try {
+                        notified.addAndGet(processChunk(chunk, today));
+                        evaluated.addAndGet(chunk.size());
+                    } catch (RuntimeException e) {
+                        logger.error("Goal evaluation chunk failed; its goals will be retried next run", e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            inFlight.acquire(workers * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Evaluated {} goals, wrote {} notifications in {} ms{}", evaluated.get(), notified.get(),
+                Duration.between(started, Instant.now()).toMillis(),
+                System.nanoTime() >= deadlineNanos ? " (time window used up)" : "");
+    }
+
+    private int processChunk(List<ClaimedGoal> chunk, LocalDate today) {
+        List<Map<String, Object>> notifications = new ArrayList<>();
+        List<Long> backOnTrack = new ArrayList<>();
+        for (ClaimedGoal goal : chunk) {
+            BigDecimal remaining = goal.targetAmount().subtract(goal.currentAmount());
+            Outcome outcome;
+            String message;
+            if (remaining.signum() <= 0) {
+                outcome = Outcome.COMPLETED;
+                message = "You've reached your goal target of $" + goal.targetAmount().toPlainString() + ".";
+            } else if (goal.deadline() == null) {
+                outcome = Outcome.ON_TRACK;
+                message = null;
+            } else if (goal.deadline().isBefore(today)) {
+                outcome = Outcome.OVERDUE;
+                message = "The deadline has passed with $" + remaining.toPlainString() + " still to go.";
+            } else {
+                long trackedDays = goal.trackingStart() != null
+                        ? ChronoUnit.DAYS.between(goal.trackingStart(), today) : 0;
+                LocalDate projected = projectCompletion(goal, remaining, trackedDays, today);
+                if (trackedDays < MIN_TRACKED_DAYS || (projected != null && !projected.isAfter(goal.deadline()))) {
+                    outcome = Outcome.ON_TRACK;
+                    message = null;
+                } else {
+                    outcome = Outcome.AT_RISK;
+                    message = projected == null
+                            ? "No progress recorded yet; $" + remaining.toPlainString() + " to go by "
+                                    + goal.deadline() + "."
+                            : "At the current pace you'll reach this goal around " + MONTH_LABEL.format(projected)
+                                    + ", after the " + goal.deadline() + " deadline.";
+                }
+            }
+            if (outcome == Outcome.ON_TRACK || outcome == Outcome.COMPLETED) {
+                backOnTrack.add(goal.id());
+            }
+            if (message != null) {
+                notifications.add(Map.of("user_id", goal.userId(), "goal_id", goal.id(), "kind", outcome.name(),
+                        "message", message));
+            }
+        }
+
+        Integer written = writeTransaction.execute(status -> {
+            if (!backOnTrack.isEmpty()) {
+                goalNotificationRepository.deleteUnreadByKindAndGoalIdIn(Outcome.AT_RISK.name(), backOnTrack);
+            }
+            return notifications.isEmpty() ? 0
+                    : goalNotificationRepository.upsertAll(ConversionUtil.toJson(notifications), Instant.now());
+        });
+        return written != null ? written : 0;
+    }
+
+    // Extrapolates the pace since tracking started; null when there is no positive pace to extrapolate.
+    private static LocalDate projectCompletion(ClaimedGoal goal, BigDecimal remaining, long trackedDays,
+            LocalDate today) {
+        if (trackedDays <= 0 || goal.trackedAmount().signum() <= 0) {
+            return null;
+        }
+        double perDay = goal.trackedAmount().doubleValue() / trackedDays;
+        return today.plusDays((long) Math.ceil(remaining.doubleValue() / perDay));
+    }
+
+    private static ClaimedGoal toClaimedGoal(Object[] row) {
+        return new ClaimedGoal(
+                ((Number) row[0]).longValue(),
+                ((Number) row[1]).longValue(),
+                row[2] != null ? (BigDecimal) row[2] : BigDecimal.ZERO,
+                row[3] != null ? (BigDecimal) row[3] : BigDecimal.ZERO,
+                row[4] != null ? (BigDecimal) row[4] : BigDecimal.ZERO,
+                row[5] != null ? ConversionUtil.toLocalDate(row[5]) : null,
+                row[6] != null ? ConversionUtil.toLocalDate(row[6]) : null);
+    }
+}
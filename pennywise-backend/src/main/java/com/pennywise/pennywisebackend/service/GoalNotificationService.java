@@ -0,0 +1,40 @@
+package com.pennywise.pennywisebackend.service;
+
+import com.pennywise.pennywisebackend.model.GoalNotification;
+import com.pennywise.pennywisebackend.repository.GoalNotificationRepository;
+import com.pennywise.pennywisebackend.security.CurrentUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class GoalNotificationService {
+
+    private static final int RECENT_LIMIT = 50;
+
+    private final GoalNotificationRepository goalNotificationRepository;
+    private final CurrentUser currentUser;
+
+    @Transactional(readOnly = true)
+    public List<GoalNotification> getRecentNotifications() {
+        return goalNotificationRepository.findByUserIdOrderByCreatedAtDesc(currentUser.getId(),
+                PageRequest.of(0, RECENT_LIMIT));
+    }
+
+    public Optional<GoalNotification> markAsRead(Long id) {
+        return goalNotificationRepository.findByIdAndUserId(id, currentUser.getId())
+                .map(notification -> {
+                    if (notification.getReadAt() == null) {
+                        notification.setReadAt(Instant.now());
+                    }
+                    return notification;
+                });
+    }
+}
@@ -0,0 +1,46 @@
+package com.pennywise.pennywisebackend.service;
+
+import com.pennywise.pennywisebackend.model.Transaction;
+import com.pennywise.pennywisebackend.repository.FinancialGoalRepository;
+import com.pennywise.pennywisebackend.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class GoalProgressService {
+
+    private final FinancialGoalRepository financialGoalRepository;
+    private final TransactionRepository transactionRepository;
+
+    public void recordTransaction(Transaction transaction) {
+        apply(transaction, false);
+    }
+
+    public void reverseTransaction(Transaction transaction) {
+        apply(transaction, true);
+    }
+
+    // Net contribution of the user's existing transactions, used when a goal starts or changes what it tracks.
+    public BigDecimal contributionsSince(Long userId, String category, LocalDate trackingStart) {
+        if (category == null || trackingStart == null) {
+            return BigDecimal.ZERO;
+        }
+        return transactionRepository.sumAmountByUserIdAndCategorySince(userId, category, trackingStart).negate();
+    }
+
+    private void apply(Transaction transaction, boolean reverse) {
+        if (transaction.getCategory() == null || transaction.getDate() == null || transaction.getAmount() == null) {
+            return;
+        }
+        // Amounts are stored signed (expenses negative), so the contribution is the negated amount.
+        BigDecimal contribution = transaction.getAmount().negate();
+        financialGoalRepository.addContribution(transaction.getUser().getId(), transaction.getCategory(),
+                transaction.getDate(), reverse ? contribution.negate() : contribution);
+    }
+}
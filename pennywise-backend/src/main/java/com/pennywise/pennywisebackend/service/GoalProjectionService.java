@@ -0,0 +1,137 @@
+package com.pennywise.pennywisebackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pennywise.pennywisebackend.dto.GoalProjectionDTO;
+import com.pennywise.pennywisebackend.model.FinancialGoal;
+import com.pennywise.pennywisebackend.model.MonthlyIncome;
+import com.pennywise.pennywisebackend.repository.DailySpendRepository;
+import com.pennywise.pennywisebackend.repository.FinancialGoalRepository;
+import com.pennywise.pennywisebackend.repository.MonthlyIncomeRepository;
+import com.pennywise.pennywisebackend.security.CurrentUser;
+import com.pennywise.pennywisebackend.util.ConversionUtil;
+import com.pennywise.pennywisebackend.util.GoalSimulator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+@Service
+@RequiredArgsConstructor
+public class GoalProjectionService implements MeterBinder {
+
+    private static final int HISTORY_MONTHS = 24;
+    private static final int MIN_HISTORY_MONTHS = 3;
+
+    private final FinancialGoalRepository financialGoalRepository;
+    private final DailySpendRepository dailySpendRepository;
+    private final MonthlyIncomeRepository monthlyIncomeRepository;
+    private final CurrentUser currentUser;
+
+    @Value("${app.goals.projection.paths:10000}")
+    private int defaultPaths;
+
+    @Value("${app.goals.projection.maxPaths:20000}")
+    private int maxPaths;
+
+    @Value("${app.goals.projection.parallelism:0}")
+    private int parallelism;
+
+    // Keyed on the full history rather than a hash of it, so two histories can never share a projection.
+    private record ProjectionKey(Long goalId, int paths, int horizonMonths, double start, double target,
+            List<Double> monthlyNets) {
+    }
+
+    private ForkJoinPool pool;
+    private final Cache<ProjectionKey, GoalProjectionDTO> cache = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(6))
+            .maximumSize(10_000)
+            .recordStats()
+            .build();
+
+    @PostConstruct
+    public void init() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "goalProjections");
+    }
+
+    public Optional<GoalProjectionDTO> getProjection(Long goalId, Integer requestedPaths) {
+        Long userId = currentUser.getId();
+        Optional<FinancialGoal> found = financialGoalRepository.findByIdAndUserId(goalId, userId);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        FinancialGoal goal = found.get();
+        LocalDate today = LocalDate.now();
+        double[] monthlyNets = monthlyNetHistory(userId, today);
+        int paths = Math.max(1, Math.min(requestedPaths != null ? requestedPaths : defaultPaths, maxPaths));
+        int horizonMonths = goal.getDeadline() == null ? 0
+                : (int) Math.max(0, ChronoUnit.MONTHS.between(today, goal.getDeadline()));
+        double start = goal.getCurrentAmount() != null ? goal.getCurrentAmount().doubleValue() : 0;
+        double target = goal.getTargetAmount() != null ? goal.getTargetAmount().doubleValue() : 0;
+
+        ProjectionKey key = new ProjectionKey(goalId, paths, horizonMonths, start, target,
+                Arrays.stream(monthlyNets).boxed().toList());
+        return Optional.of(cache.get(key, k -> {
+            if (monthlyNets.length < MIN_HISTORY_MONTHS) {
+                return new GoalProjectionDTO(goalId, null, 0, horizonMonths, monthlyNets.length, null, null, null,
+                        null);
+            }
+            long seed = key.hashCode();
+            GoalSimulator.Result result = GoalSimulator.simulate(monthlyNets, start, target, horizonMonths, paths,
+                    seed, pool);
+            int medianHitMonth = result.hitMonthPercentile(0.5);
+            return new GoalProjectionDTO(goalId, result.probability(), paths, horizonMonths, monthlyNets.length,
+                    medianHitMonth < 0 ? null : today.plusMonths(medianHitMonth),
+                    ConversionUtil.money(result.finalBalancePercentile(0.1)),
+                    ConversionUtil.money(result.finalBalancePercentile(0.5)),
+                    ConversionUtil.money(result.finalBalancePercentile(0.9)));
+        }));
+    }
+
+    // Net cash flow of each full month in the window, oldest first, starting at the first month with any data.
+    private double[] monthlyNetHistory(Long userId, LocalDate today) {
+        LocalDate currentMonth = today.withDayOfMonth(1);
+        LocalDate firstMonth = currentMonth.minusMonths(HISTORY_MONTHS);
+        double[] nets = new double[HISTORY_MONTHS];
+        boolean[] hasData = new boolean[HISTORY_MONTHS];
+        for (Object[] row : dailySpendRepository.sumByCategoryAndMonth(userId, firstMonth, currentMonth.minusDays(1))) {
+            int index = (int) ChronoUnit.MONTHS.between(firstMonth, ConversionUtil.toLocalDate(row[1]));
+            nets[index] -= ((BigDecimal) row[2]).doubleValue();
+            hasData[index] = true;
+        }
+        for (MonthlyIncome income : monthlyIncomeRepository.findInRange(userId, firstMonth,
+                currentMonth.minusMonths(1))) {
+            int index = (int) ChronoUnit.MONTHS.between(firstMonth, income.getMonth());
+            nets[index] += income.getAmount().doubleValue();
+            hasData[index] = true;
+        }
+        int first = 0;
+        while (first < HISTORY_MONTHS && !hasData[first]) {
+            first++;
+        }
+        return Arrays.copyOfRange(nets, first, HISTORY_MONTHS);
+    }
+}
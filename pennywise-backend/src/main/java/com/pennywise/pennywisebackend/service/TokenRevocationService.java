@@ -0,0 +1,100 @@
+package com.pennywise.pennywisebackend.service;
+
+import com.pennywise.pennywisebackend.model.RevokedToken;
+import com.pennywise.pennywisebackend.repository.RevokedTokenRepository;
+import com.pennywise.pennywisebackend.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${app.jwt.revocation.expectedEntries:100000}")
+    private int expectedEntries;
+
+    @Value("${app.jwt.revocation.falsePositiveRate:0.001}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    // Ids revoked locally while a rebuild is loading the table, replayed into the new filter after the swap.
+    private volatile Set<String> revokedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(tokenId);
+    }
+
+    @Transactional
+    public void revoke(String tokenId, Long userId, Instant expiresAt) {
+        if (tokenId == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(tokenId, userId, expiresAt));
+        // Published after commit: a rebuild then either reads the row or already has its pending set in place.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(tokenId);
+                }
+            });
+        } else {
+            publish(tokenId);
+        }
+    }
+
+    private void publish(String tokenId) {
+        revokedDuringRebuild.add(tokenId);
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(tokenId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.rebuildIntervalMs:60000}",
+            initialDelayString = "${app.jwt.revocation.rebuildIntervalMs:60000}")
+    @Transactional
+    public void rebuild() {
+        Set<String> pending = ConcurrentHashMap.newKeySet();
+        revokedDuringRebuild = pending;
+
+        Instant now = Instant.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        List<String> active = revokedTokenRepository.findActiveTokenIds(now);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, active.size() * 2), falsePositiveRate);
+        active.forEach(rebuilt::add);
+        filter = rebuilt;
+        pending.forEach(rebuilt::add);
+
+        logger.debug("Rebuilt token revocation filter: {} active, {} purged, {} bits, {} hashes",
+                active.size(), purged, rebuilt.getBitCount(), rebuilt.getHashCount());
+    }
+}
@@ -1,12 +1,9 @@
 package com.pennywise.pennywisebackend.service;
 
-import com.pennywise.pennywisebackend.model.User;
 import com.pennywise.pennywisebackend.model.Transaction;
 import com.pennywise.pennywisebackend.repository.TransactionRepository;
-import com.pennywise.pennywisebackend.repository.UserRepository;
+import com.pennywise.pennywisebackend.security.CurrentUser;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,34 +18,20 @@ import java.util.Optional;
 public class TransactionService {
 
     private final TransactionRepository transactionRepository;
-    private final UserRepository userRepository;
-
-    private User getCurrentUser() {
-        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        String username;
-        if (principal instanceof UserDetails) {
-            username = ((UserDetails) principal).getUsername();
-        } else {
-            username = principal.toString();
-        }
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException(
-                        "User not found in database. This should not happen if authenticated."));
-    }
+    private final CurrentUser currentUser;
+    private final DailySpendService dailySpendService;
+    private final GoalProgressService goalProgressService;
 
     public List<Transaction> getAllTransactions() {
-        User currentUser = getCurrentUser();
         return transactionRepository.findByUserId(currentUser.getId());
     }
 
     public Optional<Transaction> getTransactionById(Long id) {
-        User currentUser = getCurrentUser();
         return transactionRepository.findByIdAndUserId(id, currentUser.getId());
     }
 
     public Transaction saveTransaction(Transaction transaction) {
-        User currentUser = getCurrentUser();
-        transaction.setUser(currentUser);
+        transaction.setUser(currentUser.getReference());
 
         if ("expense".equalsIgnoreCase(transaction.getType())) {
             transaction.setAmount(transaction.getAmount().abs().negate());
@@ -57,13 +40,17 @@ public class TransactionService {
         } else {
             throw new IllegalArgumentException("Transaction type must be 'income' or 'expense'");
         }
-        return transactionRepository.save(transaction);
+        Transaction saved = transactionRepository.save(transaction);
+        dailySpendService.recordTransaction(saved);
+        goalProgressService.recordTransaction(saved);
+        return saved;
     }
 
     public Transaction updateTransaction(Long id, Transaction transactionDetails) {
-        User currentUser = getCurrentUser();
         Transaction transaction = transactionRepository.findByIdAndUserId(id, currentUser.getId())
                 .orElseThrow(() -> new RuntimeException("Transaction not found with id: " + id + " or access denied."));
+        dailySpendService.reverseTransaction(transaction);
+        goalProgressService.reverseTransaction(transaction);
 
         transaction.setDate(transactionDetails.getDate());
         transaction.setDescription(transactionDetails.getDescription());
@@ -78,20 +65,23 @@ public class TransactionService {
             throw new IllegalArgumentException("Transaction type must be 'income' or 'expense'");
         }
 
-        return transactionRepository.save(transaction);
+        Transaction saved = transactionRepository.save(transaction);
+        dailySpendService.recordTransaction(saved);
+        goalProgressService.recordTransaction(saved);
+        return saved;
     }
 
     public void deleteTransaction(Long id) {
-        User currentUser = getCurrentUser();
         Transaction transaction = transactionRepository.findByIdAndUserId(id, currentUser.getId())
                 .orElseThrow(() -> new RuntimeException(
                         "Transaction not found with id: " + id + " or access denied for deletion."));
+        dailySpendService.reverseTransaction(transaction);
+        goalProgressService.reverseTransaction(transaction);
         transactionRepository.delete(transaction);
     }
 
     public List<Transaction> filterTransactions(String category, String type, String descriptionKeyword,
             LocalDate startDate, LocalDate endDate) {
-        User currentUser = getCurrentUser();
         Long userId = currentUser.getId();
 
         if (startDate != null && endDate != null) {
@@ -112,7 +102,6 @@ public class TransactionService {
 
     public List<Transaction> getTransactionsForBudgetCalculation(String category, String type, LocalDate monthStart,
             LocalDate monthEnd) {
-        User currentUser = getCurrentUser();
         return transactionRepository.findByUserIdAndCategoryAndTypeAndDateBetween(
                 currentUser.getId(), category, type, monthStart, monthEnd);
     }
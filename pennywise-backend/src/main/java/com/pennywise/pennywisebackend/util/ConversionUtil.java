@@ -0,0 +1,34 @@
+package com.pennywise.pennywisebackend.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+
+public final class ConversionUtil {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ConversionUtil() {
+    }
+
+    // Native queries return java.sql.Date on Postgres and LocalDate on H2.
+    public static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    public static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public static String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize batch: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.pennywise.pennywisebackend.util;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public final class GoalSimulator {
+
+    // Paths per leaf task.
+    private static final int LEAF_PATHS = 512;
+
+    public record Result(int paths, int hits, double[] finalBalances, int[] hitMonths) {
+
+        public double probability() {
+            return paths == 0 ? 0 : (double) hits / paths;
+        }
+
+        public double finalBalancePercentile(double p) {
+            return finalBalances[(int) Math.min(finalBalances.length - 1, Math.floor(p * finalBalances.length))];
+        }
+
+        // Month (1-based) by which the given share of all paths had reached the target, or -1 if fewer did.
+        public int hitMonthPercentile(double p) {
+            int index = (int) Math.ceil(p * paths) - 1;
+            return index < 0 || index >= hits ? -1 : hitMonths[index];
+        }
+    }
+
+    private GoalSimulator() {
+    }
+
+    public static Result simulate(double[] monthlyNets, double startBalance, double target, int months, int paths,
+            long seed, ForkJoinPool pool) {
+        double[] finalBalances = new double[paths];
+        int[] hitMonths = new int[paths];
+        if (monthlyNets.length == 0 || paths == 0) {
+            Arrays.fill(finalBalances, startBalance);
+            Arrays.fill(hitMonths, startBalance >= target ? 0 : Integer.MAX_VALUE);
+        } else {
+            pool.invoke(new PathsTask(monthlyNets, startBalance, target, months, finalBalances, hitMonths, 0, paths,
+                    new SplittableRandom(seed)));
+        }
+        Arrays.sort(finalBalances);
+        Arrays.sort(hitMonths);
+        int hits = 0;
+        while (hits < paths && hitMonths[hits] != Integer.MAX_VALUE) {
+            hits++;
+        }
+        return new Result(paths, hits, finalBalances, hitMonths);
+    }
+
+    private static final class PathsTask extends RecursiveAction {
+
+        private final double[] monthlyNets;
+        private final double startBalance;
+        private final double target;
+        private final int months;
+        private final double[] finalBalances;
+        private final int[] hitMonths;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        PathsTask(double[] monthlyNets, double startBalance, double target, int months, double[] finalBalances,
+                int[] hitMonths, int from, int to, SplittableRandom random) {
+            this.monthlyNets = monthlyNets;
+            this.startBalance = startBalance;
+            this.target = target;
+            this.months = months;
+            this.finalBalances = finalBalances;
+            this.hitMonths = hitMonths;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_PATHS) {
+                int mid = (from + to) >>> 1;
+                // Split before forking so each half's stream depends only on the seed and the split tree.
+                PathsTask left = new PathsTask(monthlyNets, startBalance, target, months, finalBalances, hitMonths,
+                        from, mid, random.split());
+                PathsTask right = new PathsTask(monthlyNets, startBalance, target, months, finalBalances, hitMonths,
+                        mid, to, random.split());
+                invokeAll(left, right);
+                return;
+            }
+            int historyLength = monthlyNets.length;
+            for (int path = from; path < to; path++) {
+                double balance = startBalance;
+                int hitMonth = balance >= target ? 0 : Integer.MAX_VALUE;
+                for (int month = 1; month <= months; month++) {
+                    balance += monthlyNets[random.nextInt(historyLength)];
+                    if (hitMonth == Integer.MAX_VALUE && balance >= target) {
+                        hitMonth = month;
+                    }
+                }
+                finalBalances[path] = balance;
+                hitMonths[path] = hitMonth;
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.pennywise.pennywisebackend.util;
+
+public final class HoltWinters {
+
+    public static final int SEASON = 12;
+    private static final double[] GRID = { 0.05, 0.2, 0.4, 0.6, 0.8 };
+
+    private final boolean seasonal;
+    private final double alpha;
+    private final double beta;
+    private final double gamma;
+
+    private double level;
+    private double trend;
+    private final double[] seasonals;
+    // Position in seasonals of the month that will be observed next.
+    private int seasonIndex;
+
+    private HoltWinters(boolean seasonal, double alpha, double beta, double gamma) {
+        this.seasonal = seasonal;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.gamma = gamma;
+        this.seasonals = new double[seasonal ? SEASON : 0];
+    }
+
+    public static HoltWinters fit(double[] history) {
+        boolean seasonal = history.length >= 2 * SEASON;
+        HoltWinters best = null;
+        double bestError = Double.MAX_VALUE;
+        for (double alpha : GRID) {
+            for (double beta : seasonal ? GRID : new double[] { 0 }) {
+                for (double gamma : seasonal ? GRID : new double[] { 0 }) {
+                    HoltWinters candidate = new HoltWinters(seasonal, alpha, beta, gamma);
+                    double error = candidate.train(history);
+                    if (error < bestError) {
+                        bestError = error;
+                        best = candidate;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    // Replays the whole history from a fresh state; returns the one-step-ahead squared error after the first season.
+    private double train(double[] history) {
+        if (history.length == 0) {
+            return 0;
+        }
+        if (seasonal) {
+            double firstMean = mean(history, 0, SEASON);
+            double secondMean = mean(history, SEASON, 2 * SEASON);
+            level = firstMean;
+            trend = (secondMean - firstMean) / SEASON;
+            for (int i = 0; i < SEASON; i++) {
+                seasonals[i] = history[i] - firstMean;
+            }
+        } else {
+            level = history[0];
+        }
+        double error = 0;
+        for (int t = 0; t < history.length; t++) {
+            double residual = history[t] - forecastStep(1);
+            if (t >= (seasonal ? SEASON : 1)) {
+                error += residual * residual;
+            }
+            update(history[t]);
+        }
+        return error;
+    }
+
+    public void update(double observation) {
+        if (!seasonal) {
+            level = alpha * observation + (1 - alpha) * level;
+            return;
+        }
+        double season = seasonals[seasonIndex];
+        double previousLevel = level;
+        level = alpha * (observation - season) + (1 - alpha) * (level + trend);
+        trend = beta * (level - previousLevel) + (1 - beta) * trend;
+        seasonals[seasonIndex] = gamma * (observation - level) + (1 - gamma) * season;
+        seasonIndex = (seasonIndex + 1) % SEASON;
+    }
+
+    public double[] forecast(int horizon) {
+        double[] values = new double[horizon];
+        for (int h = 1; h <= horizon; h++) {
+            values[h - 1] = forecastStep(h);
+        }
+        return values;
+    }
+
+    private double forecastStep(int h) {
+        if (!seasonal) {
+            return level;
+        }
+        return level + h * trend + seasonals[(seasonIndex + h - 1) % SEASON];
+    }
+
+    private static double mean(double[] values, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        return sum / (to - from);
+    }
+}
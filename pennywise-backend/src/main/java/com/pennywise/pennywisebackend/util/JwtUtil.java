@@ -1,20 +1,35 @@
 package com.pennywise.pennywisebackend.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.pennywise.pennywisebackend.security.UserPrincipal;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
+    static final String USER_ID_CLAIM = "uid";
+    static final String EMAIL_CLAIM = "email";
+    static final String TYPE_CLAIM = "typ";
+    static final String ACCESS_TYPE = "access";
+    static final String REFRESH_TYPE = "refresh";
+
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
 
     @Value("${app.jwt.secret}")
@@ -23,41 +38,131 @@ public class JwtUtil {
     @Value("${app.jwt.expirationMs}")
     private int jwtExpirationMs;
 
+    @Value("${app.jwt.refreshExpirationMs}")
+    private long refreshExpirationMs;
+
+    @Value("${app.jwt.verifiedCacheSize:10000}")
+    private int verifiedCacheSize;
+
     private Key key;
 
+    private JwtParser jwtParser;
+
+    // Tokens whose signature was already checked, keyed by a digest of the compact token so a hit can only come
+    // from a byte-identical token without holding the bearer strings. Entries expire with their token.
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    private record VerifiedToken(UserPrincipal principal, long expiresAtMs) {
+    }
+
     @jakarta.annotation.PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        if (verifiedCacheSize > 0) {
+            this.verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheSize)
+                    .expireAfter(new Expiry<String, VerifiedToken>() {
+                        @Override
+                        public long expireAfterCreate(String digest, VerifiedToken verified, long currentTime) {
+                            long remainingMs = verified.expiresAtMs() - System.currentTimeMillis();
+                            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(String digest, VerifiedToken verified, long currentTime,
+                                long currentDuration) {
+                            return expireAfterCreate(digest, verified, currentTime);
+                        }
+
+                        @Override
+                        public long expireAfterRead(String digest, VerifiedToken verified, long currentTime,
+                                long currentDuration) {
+                            return currentDuration;
+                        }
+                    })
+                    .build();
+        }
     }
 
-    public String generateJwtToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+    public String generateTokenForPrincipal(UserPrincipal principal) {
+        return buildToken(principal, ACCESS_TYPE, jwtExpirationMs);
+    }
 
-        return Jwts.builder()
-                .setSubject((userPrincipal.getUsername()))
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key, SignatureAlgorithm.HS512)
-                .compact();
+    public String generateRefreshToken(UserPrincipal principal) {
+        return buildToken(principal, REFRESH_TYPE, refreshExpirationMs);
     }
 
-    public String generateTokenFromUsername(String username) {
+    private String buildToken(UserPrincipal principal, String type, long lifetimeMs) {
+        Date now = new Date();
         return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
+                .setId(UUID.randomUUID().toString())
+                .setSubject(principal.getUsername())
+                .claim(USER_ID_CLAIM, principal.getId())
+                .claim(EMAIL_CLAIM, principal.getEmail())
+                .claim(TYPE_CLAIM, type)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + lifetimeMs))
                 .signWith(key, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    public String getUsernameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+    public Instant accessTokenExpiryFromNow() {
+        return Instant.now().plusMillis(jwtExpirationMs);
+    }
+
+    public Instant refreshTokenExpiryFromNow() {
+        return Instant.now().plusMillis(refreshExpirationMs);
+    }
+
+    // Null for an invalid token. Revocation is checked by the caller.
+    public UserPrincipal getPrincipalFromJwtToken(String token) {
+        if (verifiedTokens == null) {
+            return toPrincipal(parseClaims(token), ACCESS_TYPE);
+        }
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && System.currentTimeMillis() < cached.expiresAtMs()) {
+            return cached.principal();
+        }
+
+        Claims claims = parseClaims(token);
+        UserPrincipal principal = toPrincipal(claims, ACCESS_TYPE);
+        if (principal != null && claims.getExpiration() != null) {
+            verifiedTokens.put(digest, new VerifiedToken(principal, claims.getExpiration().getTime()));
+        }
+        return principal;
+    }
+
+    public UserPrincipal getPrincipalFromRefreshToken(String token) {
+        return toPrincipal(parseClaims(token), REFRESH_TYPE);
+    }
+
+    private UserPrincipal toPrincipal(Claims claims, String expectedType) {
+        if (claims == null) {
+            return null;
+        }
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        if (userId == null || claims.getId() == null || !expectedType.equals(claims.get(TYPE_CLAIM, String.class))) {
+            logger.error("JWT token is not a valid {} token", expectedType);
+            return null;
+        }
+        return new UserPrincipal(userId.longValue(), claims.getSubject(), claims.get(EMAIL_CLAIM, String.class),
+                null, claims.getId());
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
-    public boolean validateJwtToken(String authToken) {
+    private Claims parseClaims(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(authToken);
-            return true;
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -69,6 +174,6 @@ public class JwtUtil {
         } catch (SignatureException e) {
             logger.error("Invalid JWT signature: {}", e.getMessage());
         }
-        return false;
+        return null;
     }
 }
@@ -0,0 +1,12 @@
+-- Applied at every startup after Hibernate's schema update; every statement must be idempotent.
+
+-- Unique indexes that native ON CONFLICT upserts depend on. ddl-auto only creates them with new tables.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_budgets_user_category_month ON budgets (user_id, category, month_date);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_daily_spend_user_category_day ON daily_spend (user_id, category, day);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_monthly_income_user_month ON monthly_income (user_id, month_date);
+
+-- One row per one-off data migration that has been applied.
+CREATE TABLE IF NOT EXISTS data_migrations (
+    name VARCHAR(64) PRIMARY KEY,
+    applied_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,169 @@
+package com.pennywise.pennywisebackend.controller;
+
+import com.pennywise.pennywisebackend.model.User;
+import com.pennywise.pennywisebackend.model.RevokedToken;
+import com.pennywise.pennywisebackend.payload.request.LoginRequest;
+import com.pennywise.pennywisebackend.payload.request.SignupRequest;
+import com.pennywise.pennywisebackend.payload.request.TokenRefreshRequest;
+import com.pennywise.pennywisebackend.payload.response.MessageResponse;
+import com.pennywise.pennywisebackend.repository.RevokedTokenRepository;
+import com.pennywise.pennywisebackend.repository.UserRepository;
+import com.pennywise.pennywisebackend.security.UserPrincipal;
+import com.pennywise.pennywisebackend.service.PasswordHashingService;
+import com.pennywise.pennywisebackend.service.TokenRevocationService;
+import com.pennywise.pennywisebackend.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthControllerTest {
+
+    private AuthController controller;
+    private final Set<String> revokedIds = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        controller = new AuthController();
+        controller.userRepository = mock(UserRepository.class);
+        controller.passwordHashingService = mock(PasswordHashingService.class);
+        controller.jwtUtil = mock(JwtUtil.class);
+        controller.tokenRevocationService = revocationServiceBackedBy(revokedIds);
+        when(controller.passwordHashingService.getDummyHash()).thenReturn("$2a$10$dummy");
+        when(controller.jwtUtil.refreshTokenExpiryFromNow()).thenAnswer(i -> Instant.now().plusSeconds(3600));
+        when(controller.jwtUtil.accessTokenExpiryFromNow()).thenAnswer(i -> Instant.now().plusSeconds(900));
+
+        User alice = new User("alice", "alice@example.com", "$2a$10$stored");
+        alice.setId(1L);
+        when(controller.userRepository.findById(1L)).thenReturn(Optional.of(alice));
+        when(controller.jwtUtil.getPrincipalFromRefreshToken("refresh-1"))
+                .thenReturn(new UserPrincipal(1L, "alice", "alice@example.com", null, "jti-1"));
+    }
+
+    @Test
+    void unknownEmailStillRunsOnePasswordCheck() {
+        when(controller.userRepository.findByEmail("nobody@example.com")).thenReturn(Optional.empty());
+
+        ResponseEntity<?> response = controller.authenticateUser(login("nobody@example.com", "secret"));
+
+        assertEquals(401, response.getStatusCode().value());
+        verify(controller.passwordHashingService).matches("secret", "$2a$10$dummy");
+    }
+
+    @Test
+    void wrongPasswordIsRejected() {
+        User user = new User("alice", "alice@example.com", "$2a$10$stored");
+        when(controller.userRepository.findByEmail("alice@example.com")).thenReturn(Optional.of(user));
+        when(controller.passwordHashingService.matches("wrong", "$2a$10$stored")).thenReturn(false);
+
+        ResponseEntity<?> response = controller.authenticateUser(login("alice@example.com", "wrong"));
+
+        assertEquals(401, response.getStatusCode().value());
+    }
+
+    @Test
+    void refreshRotatesTheToken() {
+        ResponseEntity<?> first = controller.refreshToken(refresh("refresh-1"));
+        ResponseEntity<?> replay = controller.refreshToken(refresh("refresh-1"));
+
+        assertEquals(200, first.getStatusCode().value());
+        assertEquals(401, replay.getStatusCode().value());
+        assertTrue(revokedIds.contains("jti-1"));
+    }
+
+    @Test
+    void logoutRevokesTheRefreshToken() {
+        UserPrincipal access = new UserPrincipal(1L, "alice", "alice@example.com", null, "jti-access");
+
+        controller.logout(access, refresh("refresh-1"));
+
+        assertEquals(Set.of("jti-access", "jti-1"), revokedIds);
+        assertEquals(401, controller.refreshToken(refresh("refresh-1")).getStatusCode().value());
+    }
+
+    @Test
+    void refreshForDeletedUserIsRejected() {
+        when(controller.jwtUtil.getPrincipalFromRefreshToken("refresh-2"))
+                .thenReturn(new UserPrincipal(2L, "bob", "bob@example.com", null, "jti-2"));
+        when(controller.userRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertEquals(401, controller.refreshToken(refresh("refresh-2")).getStatusCode().value());
+    }
+
+    @Test
+    void duplicateEmailIsReportedAsSuch() {
+        when(controller.userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("users_email_key"));
+        when(controller.userRepository.existsByUsername("carol")).thenReturn(false);
+        when(controller.userRepository.existsByEmail("alice@example.com")).thenReturn(true);
+
+        ResponseEntity<?> response = controller.registerUser(signup("carol", "alice@example.com"));
+
+        assertEquals(400, response.getStatusCode().value());
+        assertEquals("Error: Email is already in use!", ((MessageResponse) response.getBody()).getMessage());
+    }
+
+    @Test
+    void otherConstraintViolationIsNotReportedAsDuplicate() {
+        when(controller.userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("users_username_check"));
+        when(controller.userRepository.existsByUsername("carol")).thenReturn(false);
+        when(controller.userRepository.existsByEmail("carol@example.com")).thenReturn(false);
+
+        ResponseEntity<?> response = controller.registerUser(signup("carol", "carol@example.com"));
+
+        assertEquals(500, response.getStatusCode().value());
+    }
+
+    private static TokenRevocationService revocationServiceBackedBy(Set<String> revokedIds) {
+        RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+        when(repository.save(any(RevokedToken.class))).thenAnswer(i -> {
+            RevokedToken token = i.getArgument(0);
+            revokedIds.add(token.getTokenId());
+            return token;
+        });
+        when(repository.existsById(anyString())).thenAnswer(i -> revokedIds.contains(i.<String>getArgument(0)));
+        when(repository.findActiveTokenIds(any())).thenAnswer(i -> new ArrayList<>(revokedIds));
+        TokenRevocationService service = new TokenRevocationService(repository);
+        ReflectionTestUtils.setField(service, "expectedEntries", 1000);
+        ReflectionTestUtils.setField(service, "falsePositiveRate", 0.001);
+        service.rebuild();
+        return service;
+    }
+
+    private static TokenRefreshRequest refresh(String token) {
+        TokenRefreshRequest request = new TokenRefreshRequest();
+        request.setRefreshToken(token);
+        return request;
+    }
+
+    private static SignupRequest signup(String username, String email) {
+        SignupRequest request = new SignupRequest();
+        request.setUsername(username);
+        request.setEmail(email);
+        request.setPassword("secret1");
+        return request;
+    }
+
+    private static LoginRequest login(String email, String password) {
+        LoginRequest request = new LoginRequest();
+        request.setUsername(email);
+        request.setPassword(password);
+        return request;
+    }
+}
@@ -0,0 +1,114 @@
+package com.pennywise.pennywisebackend.monitoring;
+
+import com.pennywise.pennywisebackend.model.Budget;
+import com.pennywise.pennywisebackend.model.Transaction;
+import com.pennywise.pennywisebackend.model.User;
+import com.pennywise.pennywisebackend.repository.BudgetRepository;
+import com.pennywise.pennywisebackend.repository.TransactionRepository;
+import com.pennywise.pennywisebackend.repository.UserRepository;
+import com.pennywise.pennywisebackend.security.UserPrincipal;
+import com.pennywise.pennywisebackend.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The budget check runs after the response is written, so a violation only surfaces as the exception
+// MockMvc rethrows from perform(); a real client would already have its 200.
+@SpringBootTest(properties = {
+        "app.sql.enabled=true",
+        "app.sql.failOnViolation=true",
+        "app.sql.debugHeader=true",
+        "app.sql.budgets[0].pattern=/api/dashboard/spending-trends",
+        "app.sql.budgets[0].maxStatements=3",
+        "app.sql.budgets[1].pattern=/api/budgets/**",
+        "app.sql.budgets[1].maxStatements=3",
+        "app.sql.budgets[2].pattern=/api/dashboard/summary",
+        "app.sql.budgets[2].maxStatements=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetFilterTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    BudgetRepository budgetRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    JwtUtil jwtUtil;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.findByEmail("budget@example.com").orElseGet(() ->
+                userRepository.save(new User("budget", "budget@example.com", "unused")));
+        token = "Bearer " + jwtUtil.generateTokenForPrincipal(UserPrincipal.fromUser(user));
+        if (!budgetRepository.findByUserId(user.getId()).isEmpty()) {
+            return;
+        }
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        String[] categories = { "Food", "Rent", "Transport", "Shopping", "Utilities" };
+        for (String category : categories) {
+            for (int m = 0; m < 6; m++) {
+                budgetRepository.save(new Budget(null, category, BigDecimal.valueOf(300), month.minusMonths(m), user));
+                transactionRepository.save(new Transaction(null, month.minusMonths(m).plusDays(2), "Test", category,
+                        BigDecimal.valueOf(-42), "expense", user));
+            }
+        }
+    }
+
+    @Test
+    void budgetListStaysWithinBudget() throws Exception {
+        assertStatementsAtMost(get("/api/budgets"), 3);
+        // All six seeded months: the forecast must not query once per month.
+        assertStatementsAtMost(get("/api/budgets").param("forecast", "true"), 3);
+        assertStatementsAtMost(get("/api/budgets").param("month", YearMonth.now().toString())
+                .param("forecast", "true"), 3);
+    }
+
+    @Test
+    void spendingTrendsStayWithinBudget() throws Exception {
+        assertStatementsAtMost(get("/api/dashboard/spending-trends").param("months", "6"), 3);
+    }
+
+    @Test
+    void overBudgetRequestFails() {
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> mockMvc.perform(get("/api/dashboard/summary").header("Authorization", token)));
+
+        assertTrue(failure.getMessage().startsWith("SQL budget exceeded for GET /api/dashboard/summary"),
+                failure.getMessage());
+    }
+
+    private void assertStatementsAtMost(
+            org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder request, int budget)
+            throws Exception {
+        MvcResult result = mockMvc.perform(request.header("Authorization", token))
+                .andExpect(status().isOk())
+                .andReturn();
+        int statements = Integer.parseInt(result.getResponse().getHeader(QueryBudgetFilter.STATEMENTS_HEADER));
+        assertTrue(statements >= 1 && statements <= budget, "statements: " + statements);
+    }
+}
@@ -0,0 +1,52 @@
+package com.pennywise.pennywisebackend.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The test client connects from 127.0.0.1, which Tomcat treats as a trusted internal proxy.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class RateLimitForwardedClientTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    int port;
+
+    @Test
+    void loginLimitIsKeyedByForwardedClient() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(401, login("203.0.113.7"));
+        }
+        assertEquals(429, login("203.0.113.7"));
+        assertEquals(401, login("198.51.100.20"));
+    }
+
+    @Test
+    void spoofedLeftmostHopIsIgnored() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(401, login("192.0.2." + i + ", 203.0.113.99"));
+        }
+        assertEquals(429, login("192.0.2.200, 203.0.113.99"));
+    }
+
+    private int login(String forwardedFor) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", forwardedFor)
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"username":"nobody@example.com","password":"wrong-password"}"""))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
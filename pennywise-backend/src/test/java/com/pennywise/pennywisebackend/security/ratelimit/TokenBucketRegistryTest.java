@@ -0,0 +1,80 @@
+package com.pennywise.pennywisebackend.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRegistryTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void fullBucketAllowsBurstThenReportsWait() {
+        TokenBucketRegistry registry = new TokenBucketRegistry(100, 1);
+        long now = 1_000 * SECOND;
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, registry.tryAcquire("k", SECOND, 3, now));
+        }
+        assertEquals(SECOND, registry.tryAcquire("k", SECOND, 3, now));
+        assertEquals(SECOND / 2, registry.tryAcquire("k", SECOND, 3, now + SECOND / 2));
+    }
+
+    @Test
+    void tokensRefillAtTheEmissionInterval() {
+        TokenBucketRegistry registry = new TokenBucketRegistry(100, 1);
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            registry.tryAcquire("k", SECOND, 3, now);
+        }
+
+        assertEquals(0, registry.tryAcquire("k", SECOND, 3, now + SECOND));
+        assertTrue(registry.tryAcquire("k", SECOND, 3, now + SECOND) > 0);
+
+        // After a full refill period the whole burst is available again, but not more.
+        long later = now + 10 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, registry.tryAcquire("k", SECOND, 3, later));
+        }
+        assertTrue(registry.tryAcquire("k", SECOND, 3, later) > 0);
+    }
+
+    @Test
+    void keysAreIndependent() {
+        TokenBucketRegistry registry = new TokenBucketRegistry(100, 4);
+        long now = 1_000 * SECOND;
+
+        assertEquals(0, registry.tryAcquire("a", SECOND, 1, now));
+        assertTrue(registry.tryAcquire("a", SECOND, 1, now) > 0);
+        assertEquals(0, registry.tryAcquire("b", SECOND, 1, now));
+    }
+
+    @Test
+    void refilledBucketsAreEvicted() {
+        TokenBucketRegistry registry = new TokenBucketRegistry(100, 1);
+        long now = 1_000 * SECOND;
+        registry.tryAcquire("a", SECOND, 5, now);
+        registry.tryAcquire("b", SECOND, 5, now);
+        assertEquals(2, registry.size());
+
+        registry.evictIdle(now + SECOND / 2);
+        assertEquals(2, registry.size());
+        registry.evictIdle(now + SECOND);
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void fullStripeSharesTheOverflowBucket() {
+        TokenBucketRegistry registry = new TokenBucketRegistry(2, 1);
+        long now = System.nanoTime();
+        registry.tryAcquire("a", SECOND, 1, now);
+        registry.tryAcquire("b", SECOND, 1, now);
+
+        assertEquals(0, registry.tryAcquire("c", SECOND, 1, now));
+        assertTrue(registry.tryAcquire("d", SECOND, 1, now) > 0);
+        assertEquals(2, registry.size());
+    }
+}
@@ -0,0 +1,88 @@
+package com.pennywise.pennywisebackend.service;
+
+import com.pennywise.pennywisebackend.service.AiGateway.CircuitBreaker;
+import com.pennywise.pennywisebackend.service.AiGateway.CircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AiGatewayCircuitBreakerTest {
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, 60_000);
+        for (int i = 0; i < 3; i++) {
+            breaker.record(false);
+        }
+        assertEquals(State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void opensAtFailureRateAndFailsFast() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, 60_000);
+        breaker.record(true);
+        breaker.record(true);
+        breaker.record(false);
+        assertEquals(State.CLOSED, breaker.state());
+
+        breaker.record(false);
+        assertEquals(State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.5, 60_000);
+        breaker.record(false);
+        for (int i = 0; i < 6; i++) {
+            breaker.record(true);
+        }
+        breaker.record(false);
+        assertEquals(State.CLOSED, breaker.state());
+        breaker.record(false);
+        assertEquals(State.OPEN, breaker.state());
+    }
+
+    @Test
+    void halfOpenAdmitsOneTrialAndClosesOnSuccess() {
+        CircuitBreaker breaker = openBreaker();
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(State.HALF_OPEN, breaker.state());
+        assertFalse(breaker.tryAcquirePermission());
+
+        breaker.record(true);
+        assertEquals(State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void failedTrialReopens() {
+        CircuitBreaker breaker = openBreaker();
+        assertTrue(breaker.tryAcquirePermission());
+
+        breaker.record(false);
+        assertEquals(State.OPEN, breaker.state());
+    }
+
+    @Test
+    void releasedTrialLetsTheNextCallerTry() {
+        CircuitBreaker breaker = openBreaker();
+        assertTrue(breaker.tryAcquirePermission());
+
+        breaker.releasePermission();
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    // A zero cool-down moves to half-open on the next permission request.
+    private static CircuitBreaker openBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 2, 0.5, 0);
+        breaker.record(false);
+        breaker.record(false);
+        assertEquals(State.OPEN, breaker.state());
+        return breaker;
+    }
+}
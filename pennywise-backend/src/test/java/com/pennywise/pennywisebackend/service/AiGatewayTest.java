@@ -0,0 +1,160 @@
+package com.pennywise.pennywisebackend.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AiGatewayTest {
+
+    private HttpServer server;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final CountDownLatch stalledExchangeClosed = new CountDownLatch(1);
+    private volatile int status = 200;
+    private volatile long delayMs;
+    private AiGateway gateway;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/v1/chat/completions", this::handle);
+        server.start();
+
+        gateway = new AiGateway(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(gateway, "openaiApiKey", "test-key");
+        ReflectionTestUtils.setField(gateway, "openaiApiUrl",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions");
+        ReflectionTestUtils.setField(gateway, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(gateway, "requestTimeoutMs", 300L);
+        ReflectionTestUtils.setField(gateway, "streamTimeoutMs", 300L);
+        ReflectionTestUtils.setField(gateway, "maxConcurrentCalls", 2);
+        ReflectionTestUtils.setField(gateway, "windowSize", 4);
+        ReflectionTestUtils.setField(gateway, "minimumCalls", 2);
+        ReflectionTestUtils.setField(gateway, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(gateway, "openDurationMs", 60_000L);
+        gateway.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void successfulCallReturnsTheBody() throws Exception {
+        HttpResponse<String> response = gateway.postChatCompletion("{}").get(5, TimeUnit.SECONDS);
+
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"ok\":true}", response.body());
+        assertEquals(2, gateway.getAvailableCallPermits());
+    }
+
+    @Test
+    void timeoutAbortsTheExchangeAndReturnsThePermit() throws Exception {
+        delayMs = 10_000;
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> gateway.postChatCompletion("{}").get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(TimeoutException.class, failure.getCause());
+        assertTrue(stalledExchangeClosed.await(5, TimeUnit.SECONDS), "upstream exchange was not aborted");
+        awaitPermits(2);
+    }
+
+    @Test
+    void callerCancellationAbortsTheExchangeWithoutTrippingTheBreaker() throws Exception {
+        delayMs = 10_000;
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<HttpResponse<String>> call = gateway.postChatCompletion("{}");
+            Thread.sleep(50);
+            call.cancel(true);
+        }
+
+        assertTrue(stalledExchangeClosed.await(5, TimeUnit.SECONDS), "upstream exchange was not aborted");
+        awaitPermits(2);
+        assertEquals("CLOSED", gateway.getCircuitState());
+    }
+
+    @Test
+    void serverErrorsAreReturnedAndOpenTheCircuit() throws Exception {
+        status = 503;
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(503, gateway.postChatCompletion("{}").get(5, TimeUnit.SECONDS).statusCode());
+        }
+
+        assertEquals("OPEN", gateway.getCircuitState());
+    }
+
+    @Test
+    void openCircuitRejectsWithoutCallingUpstream() throws Exception {
+        status = 500;
+        for (int i = 0; i < 2; i++) {
+            gateway.postChatCompletion("{}").get(5, TimeUnit.SECONDS);
+        }
+        int before = hits.get();
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> gateway.postChatCompletion("{}").get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(java.util.concurrent.RejectedExecutionException.class, failure.getCause());
+        assertEquals(before, hits.get());
+    }
+
+    private void awaitPermits(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (gateway.getAvailableCallPermits() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, gateway.getAvailableCallPermits());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        hits.incrementAndGet();
+        exchange.getRequestBody().readAllBytes();
+        if (delayMs > 0) {
+            // Trickle bytes until the client goes away; a write to an aborted connection fails.
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                long until = System.currentTimeMillis() + delayMs;
+                while (System.currentTimeMillis() < until) {
+                    body.write(' ');
+                    body.flush();
+                    Thread.sleep(20);
+                }
+            } catch (IOException e) {
+                stalledExchangeClosed.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return;
+        }
+        byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.pennywise.pennywisebackend.service;
+
+import com.pennywise.pennywisebackend.model.Budget;
+import com.pennywise.pennywisebackend.model.MonthlyIncome;
+import com.pennywise.pennywisebackend.repository.BudgetRepository;
+import com.pennywise.pennywisebackend.repository.DailySpendRepository;
+import com.pennywise.pennywisebackend.repository.MonthlyIncomeRepository;
+import com.pennywise.pennywisebackend.util.ConversionUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AiPromptBuilderTest {
+
+    private static final LocalDate MONTH = LocalDate.of(2026, 5, 1);
+
+    @Test
+    void similarProfilesOnDifferentDaysShareAFingerprint() {
+        AiPromptBuilder.Prompt first = builder(1L, 1.00).build(1L, MONTH.withDayOfMonth(12));
+        AiPromptBuilder.Prompt second = builder(2L, 1.03).build(2L, MONTH.withDayOfMonth(13));
+
+        assertNotEquals(first.text(), second.text());
+        assertEquals(first.profile(), second.profile());
+    }
+
+    @Test
+    void differentSpendingLevelsDoNotShareAFingerprint() {
+        AiPromptBuilder.Prompt modest = builder(1L, 1.0).build(1L, MONTH.withDayOfMonth(12));
+        AiPromptBuilder.Prompt lavish = builder(2L, 2.0).build(2L, MONTH.withDayOfMonth(12));
+
+        assertNotEquals(modest.profile(), lavish.profile());
+    }
+
+    // Six full months of 3,000 income and 2,000 spread over two categories, scaled by spendFactor.
+    private static AiPromptBuilder builder(Long userId, double spendFactor) {
+        List<Object[]> spend = new ArrayList<>();
+        List<MonthlyIncome> income = new ArrayList<>();
+        for (int m = 1; m <= 6; m++) {
+            LocalDate month = MONTH.minusMonths(m);
+            spend.add(new Object[] { "Food", month, amount(800 * spendFactor) });
+            spend.add(new Object[] { "Rent", month, amount(1200 * spendFactor) });
+            income.add(new MonthlyIncome(null, month, amount(3000), null));
+        }
+        spend.add(new Object[] { "Food", MONTH, amount(350 * spendFactor) });
+
+        DailySpendRepository dailySpendRepository = mock(DailySpendRepository.class);
+        when(dailySpendRepository.sumByCategoryAndMonth(eq(userId), any(), any())).thenReturn(spend);
+        MonthlyIncomeRepository monthlyIncomeRepository = mock(MonthlyIncomeRepository.class);
+        when(monthlyIncomeRepository.findInRange(eq(userId), any(), any())).thenReturn(income);
+        BudgetRepository budgetRepository = mock(BudgetRepository.class);
+        when(budgetRepository.findByUserIdAndMonth(userId, MONTH))
+                .thenReturn(List.of(new Budget(null, "Food", amount(800), MONTH, null)));
+
+        AiPromptBuilder builder = new AiPromptBuilder(dailySpendRepository, monthlyIncomeRepository,
+                budgetRepository);
+        ReflectionTestUtils.setField(builder, "maxTokens", 600);
+        return builder;
+    }
+
+    private static BigDecimal amount(double value) {
+        return ConversionUtil.money(value);
+    }
+}
@@ -0,0 +1,64 @@
+package com.pennywise.pennywisebackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void everyAddedKeyIsReported() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            keys.add(UUID.randomUUID().toString());
+        }
+        keys.forEach(filter::add);
+
+        for (String key : keys) {
+            assertTrue(filter.mightContain(key), key);
+        }
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws InterruptedException {
+        BloomFilter filter = new BloomFilter(40_000, 0.001);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++) {
+            keys.add("token-" + i);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            List<String> slice = keys.subList(t * 5_000, (t + 1) * 5_000);
+            pool.execute(() -> slice.forEach(filter::add));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        for (String key : keys) {
+            assertTrue(filter.mightContain(key), key);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("present-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 3_000, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,62 @@
+package com.pennywise.pennywisebackend.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GoalSimulatorTest {
+
+    private static final double[] HISTORY = { 400, -250, 900, 120, -600, 300, 50, 700, -100, 220, 310, -40 };
+
+    private final ForkJoinPool single = new ForkJoinPool(1);
+    private final ForkJoinPool wide = new ForkJoinPool(8);
+
+    @AfterEach
+    void tearDown() {
+        single.shutdownNow();
+        wide.shutdownNow();
+    }
+
+    @Test
+    void sameSeedGivesSameResultOnAnyPool() {
+        GoalSimulator.Result first = GoalSimulator.simulate(HISTORY, 1_000, 4_000, 24, 20_000, 42L, single);
+        GoalSimulator.Result second = GoalSimulator.simulate(HISTORY, 1_000, 4_000, 24, 20_000, 42L, wide);
+
+        assertEquals(first.hits(), second.hits());
+        assertArrayEquals(first.finalBalances(), second.finalBalances());
+        assertArrayEquals(first.hitMonths(), second.hitMonths());
+    }
+
+    @Test
+    void differentSeedsDrawDifferentPaths() {
+        GoalSimulator.Result first = GoalSimulator.simulate(HISTORY, 1_000, 4_000, 24, 5_000, 1L, wide);
+        GoalSimulator.Result second = GoalSimulator.simulate(HISTORY, 1_000, 4_000, 24, 5_000, 2L, wide);
+
+        assertFalse(Arrays.equals(first.finalBalances(), second.finalBalances()));
+    }
+
+    @Test
+    void constantHistoryHitsOnSchedule() {
+        GoalSimulator.Result result = GoalSimulator.simulate(new double[] { 100 }, 0, 500, 12, 1_000, 7L, wide);
+
+        assertEquals(1.0, result.probability());
+        assertEquals(5, result.hitMonthPercentile(0.5));
+        assertEquals(1_200, result.finalBalancePercentile(0.5), 1e-9);
+    }
+
+    @Test
+    void unreachableTargetHasNoHitMonth() {
+        GoalSimulator.Result result = GoalSimulator.simulate(new double[] { -10, 10 }, 0, 1_000, 6, 1_000, 7L, wide);
+
+        assertEquals(0.0, result.probability());
+        assertEquals(-1, result.hitMonthPercentile(0.5));
+        assertTrue(result.finalBalancePercentile(1.0) <= 60);
+    }
+}
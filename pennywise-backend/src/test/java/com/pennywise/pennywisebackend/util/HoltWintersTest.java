@@ -0,0 +1,64 @@
+package com.pennywise.pennywisebackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HoltWintersTest {
+
+    // Level 1000, trend +5 per month and a fixed 12-month profile, e.g. holiday spending in December.
+    private static final double[] PROFILE = { -80, -60, -20, 0, 10, 40, 60, 50, 0, -30, -40, 70 };
+
+    private static double seasonal(int month) {
+        return 1000 + 5 * month + PROFILE[month % 12];
+    }
+
+    @Test
+    void forecastsAKnownSeasonalSeries() {
+        double[] history = new double[48];
+        for (int t = 0; t < history.length; t++) {
+            history[t] = seasonal(t);
+        }
+
+        double[] forecast = HoltWinters.fit(history).forecast(12);
+
+        for (int h = 0; h < 12; h++) {
+            assertEquals(seasonal(48 + h), forecast[h], 10, "month " + (48 + h));
+        }
+    }
+
+    @Test
+    void updateFoldsInNewMonths() {
+        double[] history = new double[36];
+        for (int t = 0; t < history.length; t++) {
+            history[t] = seasonal(t);
+        }
+        HoltWinters model = HoltWinters.fit(history);
+        for (int t = 36; t < 48; t++) {
+            model.update(seasonal(t));
+        }
+
+        assertEquals(seasonal(48), model.forecast(1)[0], 10);
+    }
+
+    @Test
+    void shortSeriesFallsBackToAFlatForecast() {
+        double[] forecast = HoltWinters.fit(new double[] { 200, 210, 190, 205, 195, 200 }).forecast(3);
+
+        assertEquals(forecast[0], forecast[1]);
+        assertEquals(forecast[1], forecast[2]);
+        assertEquals(200, forecast[0], 10);
+    }
+
+    @Test
+    void constantSeriesForecastsTheConstant() {
+        double[] history = new double[30];
+        Arrays.fill(history, 450);
+
+        for (double value : HoltWinters.fit(history).forecast(6)) {
+            assertEquals(450, value, 1e-6);
+        }
+    }
+}
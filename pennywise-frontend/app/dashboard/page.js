@@ -107,12 +107,12 @@ export default function DashboardPage() {
 
     try {
       const authHeaders = token ? { Authorization: `Bearer ${token}` } : {};
-      const response = await fetch(`${API_URL}/dashboard/ai-advice`, {
+      const response = await fetch(`${API_URL}/dashboard/ai-advice/stream`, {
         method: "POST",
-        headers: authHeaders,
+        headers: { ...authHeaders, Accept: "text/event-stream" },
       });
 
-      if (!response.ok) {
+      if (!response.ok || !response.body) {
         const errorData = await response.json().catch(() => ({
           message: "Failed to generate advice. Please try again.",
         }));
@@ -121,13 +121,45 @@ export default function DashboardPage() {
         );
       }
 
-      const data = await response.json();
+      // Advice arrives as "token" events while the model writes it, then a final "done" or "error" event.
+      const reader = response.body.getReader();
+      const decoder = new TextDecoder();
+      let buffer = "";
+      let streamedAdvice = "";
+      let data = {};
+
+      const handleEvent = (rawEvent) => {
+        let eventName = "message";
+        const dataLines = [];
+        for (const line of rawEvent.split("\n")) {
+          if (line.startsWith("event:")) eventName = line.slice(6).trim();
+          else if (line.startsWith("data:")) dataLines.push(line.slice(5));
+        }
+        if (dataLines.length === 0) return;
+        const payload = JSON.parse(dataLines.join("\n"));
+        if (eventName === "token") {
+          streamedAdvice += payload.content;
+          setAiAdvice(streamedAdvice);
+        } else {
+          data = payload;
+        }
+      };
+
+      while (true) {
+        const { value, done } = await reader.read();
+        if (done) break;
+        buffer += decoder.decode(value, { stream: true }).replace(/\r/g, "");
+        let boundary;
+        while ((boundary = buffer.indexOf("\n\n")) !== -1) {
+          handleEvent(buffer.slice(0, boundary));
+          buffer = buffer.slice(boundary + 2);
+        }
+      }
 
       if (data.error) {
         setAiMessage(data.error);
         setAiAdvice("");
-      } else if (data.advice) {
-        setAiAdvice(data.advice);
+      } else if (streamedAdvice) {
         setAiMessage("");
       }
 
@@ -420,6 +420,12 @@ export default function GoalsPage() {
                       <p className="text-white font-semibold">
                         ${goal.currentAmount?.toLocaleString()}
                       </p>
+                      {goal.trackedAmount ? (
+                        <p className="text-gray-500 text-xs">
+                          incl. ${goal.trackedAmount.toLocaleString()} from{" "}
+                          {goal.category} transactions
+                        </p>
+                      ) : null}
                     </div>
                     <div className="text-right">
                       <p className="text-gray-400 text-sm">Target</p>
@@ -3,6 +3,15 @@
 import { createContext, useContext, useState, useEffect } from "react";
 import { useRouter } from "next/navigation";
 const API_URL = process.env.NEXT_PUBLIC_API_URL || "http://localhost:8080/api";
+// Access tokens live 15 minutes on the backend; renew a little before that.
+const REFRESH_INTERVAL_MS = 10 * 60 * 1000;
+// Tabs share one rotating refresh token, so only one of them may spend it at a time.
+const REFRESH_LOCK = "pennywise_refresh";
+
+const withRefreshLock = (fn) =>
+  typeof navigator !== "undefined" && navigator.locks
+    ? navigator.locks.request(REFRESH_LOCK, fn)
+    : fn();
 
 const AuthContext = createContext();
 
@@ -33,7 +42,80 @@ export function AuthProvider({ children }) {
     }
   }, []);
 
-  const verifyToken = async (currentToken) => {
+  useEffect(() => {
+    if (!token) return;
+    const id = setInterval(() => {
+      refreshSession();
+    }, REFRESH_INTERVAL_MS);
+    return () => clearInterval(id);
+  }, [token]);
+
+  useEffect(() => {
+    // Follow refreshes and logouts made in sibling tabs.
+    const onStorage = (e) => {
+      if (e.key !== "pennywise_token") return;
+      if (e.newValue) {
+        setToken(e.newValue);
+      } else {
+        setUser(null);
+        setToken(null);
+        router.push("/");
+      }
+    };
+    window.addEventListener("storage", onStorage);
+    return () => window.removeEventListener("storage", onStorage);
+  }, []);
+
+  const storeSession = (data) => {
+    const accessToken = data.accessToken || data.token;
+    setToken(accessToken);
+    localStorage.setItem("pennywise_token", accessToken);
+    if (data.refreshToken) {
+      localStorage.setItem("pennywise_refresh_token", data.refreshToken);
+    }
+    return accessToken;
+  };
+
+  const adoptStoredToken = () => {
+    const storedToken = localStorage.getItem("pennywise_token");
+    if (storedToken) {
+      setToken(storedToken);
+    }
+    return storedToken;
+  };
+
+  const refreshSession = async () => {
+    const seenRefreshToken = localStorage.getItem("pennywise_refresh_token");
+    if (!seenRefreshToken) return null;
+    return withRefreshLock(async () => {
+      // A sibling tab may have rotated the token while this one waited for the lock.
+      const refreshToken = localStorage.getItem("pennywise_refresh_token");
+      if (!refreshToken) return null;
+      if (refreshToken !== seenRefreshToken) return adoptStoredToken();
+      try {
+        const res = await fetch(`${API_URL}/auth/refresh`, {
+          method: "POST",
+          headers: { "Content-Type": "application/json" },
+          body: JSON.stringify({ refreshToken }),
+        });
+        if (!res.ok) {
+          // Without lock support a sibling can still win the race; its replayed token is not a logout.
+          if (localStorage.getItem("pennywise_refresh_token") !== refreshToken) {
+            return adoptStoredToken();
+          }
+          logout();
+          return null;
+        }
+        const data = await res.json();
+        return storeSession(data);
+      } catch (error) {
+        console.error("AuthContext: Error refreshing session", error);
+        return null;
+      }
+    });
+  };
+
+  const verifyToken = async (currentToken, allowRefresh = true) => {
     try {
       const res = await fetch(`${API_URL}/auth/profile`, {
         headers: {
@@ -67,6 +149,11 @@ export function AuthProvider({ children }) {
           );
           logout();
         }
+      } else if (res.status === 401 && allowRefresh) {
+        const renewed = await refreshSession();
+        if (renewed) {
+          await verifyToken(renewed, false);
+        }
       } else {
         logout();
       }
@@ -89,10 +176,8 @@ export function AuthProvider({ children }) {
         return { success: false, error: "Invalid credentials" };
       }
       const data = await res.json();
-      const accessToken = data.accessToken || data.token;
+      storeSession(data);
       const { id, username, email: userEmail } = data;
-      setToken(accessToken);
-      localStorage.setItem("pennywise_token", accessToken);
 
       const loggedInUser = { id, username, name: username, email: userEmail };
       setUser(loggedInUser);
@@ -118,10 +203,8 @@ export function AuthProvider({ children }) {
         return { success: false, error: msg || "Registration failed" };
       }
       const data = await res.json();
-      const accessToken = data.accessToken || data.token;
+      storeSession(data);
       const { id, username, email: userEmail } = data;
-      setToken(accessToken);
-      localStorage.setItem("pennywise_token", accessToken);
 
       const newUser = { id, username, name: username, email: userEmail };
       setUser(newUser);
@@ -136,10 +219,24 @@ export function AuthProvider({ children }) {
   };
 
   const logout = () => {
+    const currentToken = localStorage.getItem("pennywise_token");
+    const refreshToken = localStorage.getItem("pennywise_refresh_token");
+    if (currentToken || refreshToken) {
+      // Best effort: revoke both tokens server-side, but never block the local logout on it.
+      fetch(`${API_URL}/auth/logout`, {
+        method: "POST",
+        headers: {
+          "Content-Type": "application/json",
+          ...(currentToken ? { Authorization: `Bearer ${currentToken}` } : {}),
+        },
+        body: JSON.stringify({ refreshToken }),
+      }).catch(() => {});
+    }
     setUser(null);
     setToken(null);
     localStorage.removeItem("pennywise_user");
     localStorage.removeItem("pennywise_token");
+    localStorage.removeItem("pennywise_refresh_token");
     router.push("/");
   };
 